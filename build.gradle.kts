@@ -1,3 +1,22 @@
+import org.objectweb.asm.ClassReader
+import org.objectweb.asm.ClassVisitor
+import org.objectweb.asm.ClassWriter
+import org.objectweb.asm.FieldVisitor
+import org.objectweb.asm.MethodVisitor
+import org.objectweb.asm.Opcodes
+import java.util.zip.ZipEntry
+import java.util.zip.ZipFile
+import java.util.zip.ZipOutputStream
+
+buildscript {
+    repositories {
+        mavenCentral()
+    }
+    dependencies {
+        classpath("org.ow2.asm:asm:9.4")
+    }
+}
+
 plugins {
     id("org.openrewrite.build.recipe-library") version "1.8.1"
 }
@@ -16,6 +35,13 @@ sourceSets {
             }
         }
     }
+    // only the classes of main, as its resources include the output of this generator
+    create("managedVersionTables") {
+        java {
+            compileClasspath += sourceSets.getByName("main").output.classesDirs + configurations.getByName("compileClasspath")
+            runtimeClasspath += sourceSets.getByName("main").output.classesDirs + configurations.getByName("runtimeClasspath")
+        }
+    }
 }
 
 repositories {
@@ -77,6 +103,87 @@ recipeDependencies {
     parserClasspath("org.springframework.batch:spring-batch-infrastructure:5.+")
 }
 
+// The jars in META-INF/rewrite/classpath are only ever used by JavaTemplate and stub parsers to type-attribute
+// snippets, which needs nothing but the signatures of each type. Ship them stripped of method bodies, debug
+// information, private and synthetic members, anonymous and local classes and any non-class resources, under the
+// same file names so that classpathFromResources lookups are unchanged.
+val parserClasspathDir = layout.projectDirectory.dir("src/main/resources/META-INF/rewrite/classpath")
+val typeStubsDir = layout.buildDirectory.dir("generated/resources/typeStubs")
+val createTypeStubs by tasks.registering {
+    description = "Strips the parser classpath jars down to the type signatures needed to attribute templates."
+    inputs.dir(parserClasspathDir)
+    outputs.dir(typeStubsDir)
+    doLast {
+        val stubsDir = typeStubsDir.get().dir("META-INF/rewrite/classpath").asFile
+        stubsDir.deleteRecursively()
+        stubsDir.mkdirs()
+        val localOrAnonymousClass = Regex(".*\\$[0-9][^/]*\\.class")
+        val nonApi = Opcodes.ACC_PRIVATE or Opcodes.ACC_SYNTHETIC
+        parserClasspathDir.asFile.listFiles { f -> f.name.endsWith(".jar") }!!.forEach { jar ->
+            ZipFile(jar).use { zip ->
+                ZipOutputStream(File(stubsDir, jar.name).outputStream().buffered()).use { stubs ->
+                    zip.entries().asSequence()
+                        .filter { it.name.endsWith(".class") && !it.name.startsWith("META-INF/") && !it.name.endsWith("module-info.class") }
+                        .filter { !localOrAnonymousClass.matches(it.name) }
+                        .sortedBy { it.name }
+                        .forEach { entry ->
+                            val writer = ClassWriter(0)
+                            ClassReader(zip.getInputStream(entry).use { it.readBytes() }).accept(object : ClassVisitor(Opcodes.ASM9, writer) {
+                                override fun visitField(access: Int, name: String?, descriptor: String?, signature: String?, value: Any?): FieldVisitor? =
+                                    if (access and nonApi != 0) null else super.visitField(access, name, descriptor, signature, value)
+
+                                override fun visitMethod(access: Int, name: String?, descriptor: String?, signature: String?, exceptions: Array<out String>?): MethodVisitor? =
+                                    if (access and nonApi != 0) null else super.visitMethod(access, name, descriptor, signature, exceptions)
+                            }, ClassReader.SKIP_CODE or ClassReader.SKIP_DEBUG or ClassReader.SKIP_FRAMES)
+                            // a fixed timestamp keeps the stubs reproducible
+                            stubs.putNextEntry(ZipEntry(entry.name).apply { time = 0 })
+                            stubs.write(writer.toByteArray())
+                            stubs.closeEntry()
+                        }
+                }
+            }
+        }
+    }
+}
+
+// The versions managed by each Spring Boot release never change, so UpgradeExplicitSpringBootDependencies reads them
+// from tables bundled in META-INF/rewrite/managed-versions instead of resolving spring-boot-dependencies at runtime.
+// The tables are kept across builds and only new releases are resolved; a build without access to the Spring
+// repositories ships the tables it already has, and the missing releases are resolved at runtime. Run with
+// -PrefreshManagedVersionTables to pick up releases published since the last build.
+val managedVersionTablesDir = layout.buildDirectory.dir("generated/resources/managedVersionTables")
+val generateManagedVersionTables by tasks.registering(JavaExec::class) {
+    description = "Generates the managed version tables of the known Spring Boot releases."
+    val generator = sourceSets.getByName("managedVersionTables")
+    classpath = generator.runtimeClasspath
+    mainClass.set("org.openrewrite.maven.spring.GenerateManagedVersionTables")
+    val tablesDir = managedVersionTablesDir.get().dir("META-INF/rewrite/managed-versions").asFile
+    args(tablesDir)
+    inputs.files(generator.runtimeClasspath)
+    outputs.dir(managedVersionTablesDir)
+    outputs.upToDateWhen { !project.hasProperty("refreshManagedVersionTables") && !tablesDir.list().isNullOrEmpty() }
+    doFirst { tablesDir.mkdirs() }
+}
+
+tasks.named<ProcessResources>("processResources") {
+    // only the original jars are excluded, a plain exclude pattern would also drop the stubs copied to the same path
+    val originalJars = parserClasspathDir.asFile
+    exclude { it.file.startsWith(originalJars) }
+    from(createTypeStubs)
+    from(generateManagedVersionTables)
+}
+
+tasks.named<Jar>("jar") {
+    doLast {
+        ZipFile(archiveFile.get().asFile).use { zip ->
+            val parserClasspathJar = Regex("META-INF/rewrite/classpath/[^/]+\\.jar")
+            check(zip.entries().asSequence().any { parserClasspathJar.matches(it.name) }) {
+                "${archiveFile.get().asFile.name} contains no parser classpath jars in META-INF/rewrite/classpath"
+            }
+        }
+    }
+}
+
 val rewriteVersion = rewriteRecipe.rewriteVersion.get()
 var springBoot3Version = "3.0.0-RC1"
 dependencies {
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.openrewrite.*;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.spring.internal.SpringPropertyIndex;
+import org.openrewrite.marker.Markers;
+import org.openrewrite.properties.tree.Properties;
+import org.openrewrite.yaml.MergeYaml;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Adds many properties to Spring configuration files at once, in the same way as {@link AddSpringProperty}.
+ * <P>
+ * All the properties missing from a YAML file are combined into a single YAML fragment, which is merged into it with one
+ * {@link MergeYaml}, and all the properties missing from a ".properties" file are appended to it in one edit. Each
+ * property is only added if it does not already exist within the configuration file, in any relaxed binding form.
+ */
+@Value
+@EqualsAndHashCode(callSuper = true)
+public class AddSpringProperties extends Recipe {
+
+    @Option(displayName = "Properties",
+            description = "The property keys to add, mapped to the value of each new property key. Properties are added in " +
+                          "the order they are listed.",
+            example = "management.metrics.enable.process.files: true")
+    Map<String, String> properties;
+
+    @Option(displayName = "Optional comments to be prepended to the properties",
+            description = "Property keys mapped to a comment that will be added to the new property in YAML files.",
+            required = false,
+            example = "management.metrics.enable.process.files: This is a comment")
+    @Nullable
+    Map<String, String> comments;
+
+    @Option(displayName = "Optional list of file path matcher",
+            description = "Each value in this list represents a glob expression that is used to match which files will " +
+                          "be modified. If this value is not present, this recipe will query the execution context for " +
+                          "reasonable defaults. (\"**/application.yml\", \"**/application.yaml\", and \"**/application.properties\".",
+            required = false,
+            example = "**/application.yml")
+    @Nullable
+    List<String> pathExpressions;
+
+    @Override
+    public String getDisplayName() {
+        return "Add spring configuration properties";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Add many spring configuration properties to a configuration file if they do not already exist in that file, " +
+               "merging all of them into each file in a single pass.";
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public boolean isAcceptable(SourceFile sourceFile, ExecutionContext ctx) {
+                return !properties.isEmpty() && (sourceFile instanceof Yaml.Documents || sourceFile instanceof Properties.File);
+            }
+
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                //Short circuit visitor navigation for everything except source file
+                if (tree instanceof SourceFile) {
+                    tree = super.visit(tree, ctx);
+                }
+                return tree;
+            }
+
+            @Override
+            public @Nullable Tree preVisit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (tree instanceof Yaml.Documents && sourcePathMatches((SourceFile) tree, ctx)) {
+                    String yaml = createYaml((Yaml.Documents) tree);
+                    if (!yaml.isEmpty()) {
+                        doAfterVisit(new MergeYaml("$", yaml, true, null, null));
+                    }
+                } else if (tree instanceof Properties.File && sourcePathMatches((SourceFile) tree, ctx)) {
+                    return addProperties((Properties.File) tree);
+                }
+                return tree;
+            }
+        };
+    }
+
+    private boolean sourcePathMatches(SourceFile sourceFile, ExecutionContext ctx) {
+        if (pathExpressions == null || pathExpressions.isEmpty()) {
+            //If not defined, use the execution context's classification against its reasonable defaults.
+            return SpringExecutionContextView.view(ctx).getConfigurationFile(sourceFile).isDefaultApplicationConfiguration();
+        }
+        return SpringConfigurationFile.matchesAny(sourceFile.getSourcePath(), pathExpressions);
+    }
+
+    private Properties.File addProperties(Properties.File file) {
+        List<Properties.Content> added = new ArrayList<>();
+        for (Map.Entry<String, String> property : properties.entrySet()) {
+            if (SpringPropertyIndex.find(file, property.getKey()).isEmpty()) {
+                String prefix = file.getContent().isEmpty() && added.isEmpty() ? "" : "\n";
+                Properties.Value value = new Properties.Value(Tree.randomId(), "", Markers.EMPTY,
+                        escape(property.getValue(), false));
+                added.add(new Properties.Entry(Tree.randomId(), prefix, Markers.EMPTY, escape(property.getKey(), true),
+                        "", Properties.Entry.Delimiter.EQUALS, value));
+            }
+        }
+        return added.isEmpty() ? file : file.withContent(ListUtils.concatAll(file.getContent(), added));
+    }
+
+    /**
+     * @return The text of a key or value as it is written in a ".properties" file.
+     */
+    private static String escape(String text, boolean key) {
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\') {
+                escaped.append("\\\\");
+            } else if (c == '\n') {
+                escaped.append("\\n");
+            } else if (c == '\r') {
+                escaped.append("\\r");
+            } else if (c == '\t') {
+                escaped.append("\\t");
+            } else if (c == '\f') {
+                escaped.append("\\f");
+            } else if ((c == ' ' && (key || i == 0)) || (key && (c == '=' || c == ':' || c == '#' || c == '!'))) {
+                escaped.append('\\').append(c);
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * @return A single YAML fragment containing every property missing from the YAML file, where properties sharing a
+     * key prefix are nested below the same mapping.
+     */
+    private String createYaml(Yaml.Documents documents) {
+        Map<String, Object> root = new LinkedHashMap<>();
+        for (Map.Entry<String, String> property : properties.entrySet()) {
+            if (SpringPropertyIndex.find(documents, property.getKey()).isEmpty()) {
+                putYaml(root, property.getKey().split("\\."), property);
+            }
+        }
+
+        StringBuilder yaml = new StringBuilder();
+        appendYaml(yaml, root, "");
+        return yaml.toString();
+    }
+
+    private static void putYaml(Map<String, Object> root, String[] propertyParts, Map.Entry<String, String> property) {
+        List<Map<String, Object>> mappings = new ArrayList<>(propertyParts.length);
+        mappings.add(root);
+        Map<String, Object> mapping = root;
+        for (int i = 0; i < propertyParts.length - 1; i++) {
+            Object child = mapping.computeIfAbsent(propertyParts[i], k -> new LinkedHashMap<String, Object>());
+            if (!(child instanceof Map)) {
+                break;
+            }
+            //noinspection unchecked
+            mapping = (Map<String, Object>) child;
+            mappings.add(mapping);
+        }
+
+        // a key that is also the parent of another key is written with the rest of the key in its dotted form, below
+        // the deepest mapping where that is not taken. Spring flattens both forms to the same property.
+        for (int depth = mappings.size() - 1; depth >= 0; depth--) {
+            String key = String.join(".", Arrays.asList(propertyParts).subList(depth, propertyParts.length));
+            if (!mappings.get(depth).containsKey(key)) {
+                mappings.get(depth).put(key, property);
+                return;
+            }
+        }
+    }
+
+    private void appendYaml(StringBuilder yaml, Map<String, Object> mapping, String indent) {
+        for (Map.Entry<String, Object> entry : mapping.entrySet()) {
+            if (yaml.length() > 0) {
+                yaml.append("\n");
+            }
+            if (entry.getValue() instanceof Map) {
+                yaml.append(indent).append(entry.getKey()).append(":");
+                //noinspection unchecked
+                appendYaml(yaml, (Map<String, Object>) entry.getValue(), indent + "  ");
+            } else {
+                //noinspection unchecked
+                Map.Entry<String, String> property = (Map.Entry<String, String>) entry.getValue();
+                String comment = comments == null ? null : comments.get(property.getKey());
+                if (comment != null) {
+                    yaml.append(indent).append("# ").append(comment).append("\n");
+                }
+                yaml.append(indent).append(entry.getKey()).append(":");
+                String value = property.getValue();
+                if (AddSpringProperty.quoteValue(value)) {
+                    yaml.append(" \"").append(value).append('"');
+                } else {
+                    yaml.append(" ").append(value);
+                }
+            }
+        }
+    }
+}
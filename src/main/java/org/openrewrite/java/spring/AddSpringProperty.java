@@ -24,9 +24,6 @@ import org.openrewrite.properties.tree.Properties;
 import org.openrewrite.yaml.MergeYaml;
 import org.openrewrite.yaml.tree.Yaml;
 
-import java.nio.file.Path;
-import java.nio.file.PathMatcher;
-import java.nio.file.Paths;
 import java.util.List;
 import java.util.regex.Pattern;
 
@@ -98,9 +95,9 @@ public class AddSpringProperty extends Recipe {
 
             @Override
             public @Nullable Tree preVisit(@Nullable Tree tree, ExecutionContext ctx) {
-                if (tree instanceof Yaml.Documents && sourcePathMatches(((SourceFile)tree).getSourcePath(), ctx)) {
+                if (tree instanceof Yaml.Documents && sourcePathMatches((SourceFile) tree, ctx)) {
                     doAfterVisit(createMergeYamlVisitor());
-                } else if (tree instanceof Properties.File && sourcePathMatches(((SourceFile)tree).getSourcePath(), ctx)) {
+                } else if (tree instanceof Properties.File && sourcePathMatches((SourceFile) tree, ctx)) {
                     doAfterVisit(new AddProperty(property, value, null));
                 }
                 return tree;
@@ -108,29 +105,12 @@ public class AddSpringProperty extends Recipe {
         };
     }
 
-    private boolean sourcePathMatches(Path sourcePath, ExecutionContext ctx) {
-        List<String> expressions = pathExpressions;
-        if (expressions == null || pathExpressions.isEmpty()) {
-            //If not defined, get reasonable defaults from the execution context.
-            expressions = SpringExecutionContextView.view(ctx).getDefaultApplicationConfigurationPaths();
+    private boolean sourcePathMatches(SourceFile sourceFile, ExecutionContext ctx) {
+        if (pathExpressions == null || pathExpressions.isEmpty()) {
+            //If not defined, use the execution context's classification against its reasonable defaults.
+            return SpringExecutionContextView.view(ctx).getConfigurationFile(sourceFile).isDefaultApplicationConfiguration();
         }
-        if (expressions.isEmpty()) {
-            return true;
-        }
-        for (String filePattern : expressions) {
-            if (filePattern.startsWith("**")) {
-                sourcePath = Paths.get(".").resolve(sourcePath.normalize());
-            } else {
-                sourcePath = sourcePath.normalize();
-            }
-
-            PathMatcher pathMatcher = sourcePath.getFileSystem().getPathMatcher("glob:" + filePattern);
-            if (pathMatcher.matches(sourcePath)) {
-                return true;
-            }
-        }
-
-        return false;
+        return SpringConfigurationFile.matchesAny(sourceFile.getSourcePath(), pathExpressions);
     }
 
     private MergeYaml createMergeYamlVisitor() {
@@ -161,7 +141,7 @@ public class AddSpringProperty extends Recipe {
     }
 
     private static final Pattern scalarNeedsAQuote = Pattern.compile("[^a-zA-Z\\d\\s]*");
-    private boolean quoteValue(String value) {
+    static boolean quoteValue(String value) {
         return scalarNeedsAQuote.matcher(value).matches();
     }
 }
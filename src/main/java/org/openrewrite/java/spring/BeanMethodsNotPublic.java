@@ -23,7 +23,7 @@ import org.openrewrite.java.AnnotationMatcher;
 import org.openrewrite.java.ChangeMethodAccessLevelVisitor;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.MethodMatcher;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.spring.search.UsesAnyType;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.TypeUtils;
 
@@ -41,7 +41,7 @@ public class BeanMethodsNotPublic extends Recipe {
     @Nullable
     @Override
     protected TreeVisitor<?, ExecutionContext> getSingleSourceApplicableTest() {
-        return new UsesType<>("org.springframework.context.annotation.Bean");
+        return new UsesAnyType<>("org.springframework.context.annotation.Bean");
     }
 
     @Override
@@ -18,13 +18,11 @@ package org.openrewrite.java.spring;
 import lombok.EqualsAndHashCode;
 import lombok.Value;
 import org.openrewrite.*;
-import org.openrewrite.internal.ListUtils;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.properties.tree.Properties;
 import org.openrewrite.yaml.tree.Yaml;
 
 import java.util.*;
-import java.util.regex.Pattern;
 
 /**
  * This composite recipe will change a spring application property key across YAML and properties files.
@@ -62,28 +60,18 @@ public class ChangeSpringPropertyKey extends Recipe {
     List<String> except;
 
     @Override
-    protected List<SourceFile> visit(List<SourceFile> before, ExecutionContext ctx) {
-
-        org.openrewrite.yaml.ChangePropertyKey yamlChangePropertyKey =
-                new org.openrewrite.yaml.ChangePropertyKey(oldPropertyKey, newPropertyKey, true, null, except);
-        org.openrewrite.properties.ChangePropertyKey propertiesChangePropertyKey =
-                new org.openrewrite.properties.ChangePropertyKey(oldPropertyKey, newPropertyKey, true, null, false);
-        org.openrewrite.properties.ChangePropertyKey subpropertiesChangePropertyKey =
-                new org.openrewrite.properties.ChangePropertyKey(Pattern.quote(oldPropertyKey + ".") + exceptRegex() + "(.*)", newPropertyKey + ".$1", true, null, true);
-        return ListUtils.map(before, s -> {
-            if (s instanceof Yaml.Documents) {
-                s = (Yaml.Documents) yamlChangePropertyKey.getVisitor().visit(s, ctx);
-            } else if (s instanceof Properties.File) {
-                s = (Properties.File) propertiesChangePropertyKey.getVisitor().visit(s, ctx);
-                s = (Properties.File) subpropertiesChangePropertyKey.getVisitor().visit(s, ctx);
+    protected TreeVisitor<?, ExecutionContext> getVisitor() {
+        PropertyKeyChangeMatcher matcher = PropertyKeyChangeMatcher.of(oldPropertyKey, newPropertyKey, except);
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (tree instanceof Yaml.Documents) {
+                    return matcher.getYamlChangePropertyKey().getVisitor().visit(tree, ctx);
+                } else if (tree instanceof Properties.File) {
+                    return matcher.getPropertiesVisitor().visit(tree, ctx);
+                }
+                return tree;
             }
-            return s;
-        });
-    }
-
-    private String exceptRegex() {
-        return except == null || except.isEmpty()
-                ? ""
-                : "(?!(" + String.join("|", except) + "))";
+        };
     }
 }
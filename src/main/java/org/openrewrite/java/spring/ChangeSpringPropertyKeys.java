@@ -0,0 +1,159 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.openrewrite.*;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.spring.internal.PropertyKeyTrie;
+import org.openrewrite.properties.PropertiesIsoVisitor;
+import org.openrewrite.properties.tree.Properties;
+import org.openrewrite.yaml.YamlIsoVisitor;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.util.*;
+
+/**
+ * Applies a whole table of {@link ChangeSpringPropertyKey} changes to each configuration file in one go.
+ * <P>
+ * The old keys are indexed once per run in a {@link PropertyKeyTrie}, so each property key in a file is checked
+ * against the table with a single lookup instead of once per change. Properties files are rewritten in a single pass.
+ * For YAML files, the keys of each document are collected in one pass, and only the changes that can match one of those
+ * keys are applied. Changes are applied in the order they are listed, so a key renamed by one change can be renamed
+ * again by a later change.
+ */
+@Value
+@EqualsAndHashCode(callSuper = true)
+public class ChangeSpringPropertyKeys extends Recipe {
+
+    @Override
+    public String getDisplayName() {
+        return "Change the keys of spring application properties";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Change many spring application property keys existing in either Properties or Yaml files, " +
+               "visiting each file once for the whole list of changes.";
+    }
+
+    @Option(displayName = "Property key changes",
+            description = "The property keys to rename, in the order they are applied. Each change takes an `oldPropertyKey` " +
+                          "(which supports glob), a `newPropertyKey` and an optional `except` list, just like `ChangeSpringPropertyKey`.")
+    List<PropertyKeyChange> keyChanges;
+
+    @Override
+    protected TreeVisitor<?, ExecutionContext> getVisitor() {
+        List<PropertyKeyChangeMatcher> matchers = new ArrayList<>(keyChanges.size());
+        PropertyKeyTrie<Integer> trie = new PropertyKeyTrie<>();
+        for (PropertyKeyChange keyChange : keyChanges) {
+            trie.put(keyChange.getOldPropertyKey(), matchers.size());
+            matchers.add(PropertyKeyChangeMatcher.of(keyChange.getOldPropertyKey(), keyChange.getNewPropertyKey(), keyChange.getExcept()));
+        }
+
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (tree instanceof Yaml.Documents) {
+                    return changeYamlKeys((Yaml.Documents) tree, matchers, trie, ctx);
+                } else if (tree instanceof Properties.File) {
+                    return new PropertiesIsoVisitor<ExecutionContext>() {
+                        @Override
+                        public Properties.Entry visitEntry(Properties.Entry entry, ExecutionContext ctx) {
+                            Properties.Entry e = super.visitEntry(entry, ctx);
+                            String newKey = changePropertiesKey(e.getKey(), matchers, trie);
+                            return newKey.equals(e.getKey()) ? e : e.withKey(newKey);
+                        }
+                    }.visit(tree, ctx);
+                }
+                return tree;
+            }
+        };
+    }
+
+    private static String changePropertiesKey(String key, List<PropertyKeyChangeMatcher> matchers, PropertyKeyTrie<Integer> trie) {
+        String changed = key;
+        int from = 0;
+        nextChange:
+        while (true) {
+            for (Integer i : trie.findPrefixesOf(changed)) {
+                if (i >= from) {
+                    String newKey = matchers.get(i).changePropertiesKey(changed);
+                    if (newKey != null) {
+                        changed = newKey;
+                        from = i + 1;
+                        continue nextChange;
+                    }
+                }
+            }
+            return changed;
+        }
+    }
+
+    private static Yaml.Documents changeYamlKeys(Yaml.Documents documents, List<PropertyKeyChangeMatcher> matchers,
+                                                 PropertyKeyTrie<Integer> trie, ExecutionContext ctx) {
+        Yaml.Documents docs = documents;
+        BitSet candidates = candidates(docs, trie);
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            Yaml.Documents after = (Yaml.Documents) matchers.get(i).getYamlChangePropertyKey().getVisitor().visitNonNull(docs, ctx);
+            if (after != docs) {
+                // the moved keys may now fall under the old key of a later change
+                docs = after;
+                candidates = candidates(docs, trie);
+            }
+        }
+        return docs;
+    }
+
+    /**
+     * @return The indexes of all changes whose old key is equal to, or a parent of, a property key in the documents.
+     */
+    private static BitSet candidates(Yaml.Documents documents, PropertyKeyTrie<Integer> trie) {
+        BitSet candidates = new BitSet();
+        new YamlIsoVisitor<BitSet>() {
+            @Override
+            public Yaml.Sequence visitSequence(Yaml.Sequence sequence, BitSet candidates) {
+                // property keys within sequences are never changed
+                return sequence;
+            }
+
+            @Override
+            public Yaml.Mapping.Entry visitMappingEntry(Yaml.Mapping.Entry entry, BitSet candidates) {
+                StringBuilder key = new StringBuilder(entry.getKey().getValue());
+                for (Cursor c = getCursor().getParent(); c != null; c = c.getParent()) {
+                    if (c.getValue() instanceof Yaml.Mapping.Entry) {
+                        key.insert(0, '.').insert(0, ((Yaml.Mapping.Entry) c.getValue()).getKey().getValue());
+                    }
+                }
+                for (Integer i : trie.findPrefixesOf(key.toString())) {
+                    candidates.set(i);
+                }
+                return super.visitMappingEntry(entry, candidates);
+            }
+        }.visit(documents, candidates);
+        return candidates;
+    }
+
+    @Value
+    public static class PropertyKeyChange {
+        String oldPropertyKey;
+        String newPropertyKey;
+
+        @Nullable
+        List<String> except;
+    }
+}
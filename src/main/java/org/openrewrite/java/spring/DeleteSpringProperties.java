@@ -0,0 +1,187 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.openrewrite.*;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.spring.internal.SpringPropertyKeys;
+import org.openrewrite.properties.PropertiesIsoVisitor;
+import org.openrewrite.properties.tree.Properties;
+import org.openrewrite.yaml.YamlIsoVisitor;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.regex.Pattern;
+
+/**
+ * A recipe to remove many properties (or matching property groups) from Spring configuration files at once, in the
+ * same way as {@link DeleteSpringProperty}.
+ * <P>
+ * The property keys are compiled into a single matcher, and each file is visited once to remove every matching
+ * property. Mappings in YAML files that are left empty by the deletions are removed in the same pass.
+ */
+@Value
+@EqualsAndHashCode(callSuper = true)
+public class DeleteSpringProperties extends Recipe {
+
+    @Option(displayName = "Property keys",
+            description = "The property keys to delete. Supports glob expressions",
+            example = "management.endpoint.configprops.*")
+    List<String> propertyKeys;
+
+    @Override
+    public String getDisplayName() {
+        return "Delete spring configuration properties";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Delete spring configuration properties from any configuration file that contains a matching key, " +
+               "visiting each file once for the whole list of keys.";
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        PropertyKeyMatcher matcher = new PropertyKeyMatcher(propertyKeys);
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public boolean isAcceptable(SourceFile sourceFile, ExecutionContext ctx) {
+                return sourceFile instanceof Yaml.Documents || sourceFile instanceof Properties.File;
+            }
+
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (tree instanceof Yaml.Documents) {
+                    return new DeleteYamlProperties(matcher).visit(tree, ctx);
+                } else if (tree instanceof Properties.File) {
+                    return new DeleteProperties(matcher).visit(tree, ctx);
+                }
+                return tree;
+            }
+        };
+    }
+
+    private static class DeleteYamlProperties extends YamlIsoVisitor<ExecutionContext> {
+        private final PropertyKeyMatcher matcher;
+
+        DeleteYamlProperties(PropertyKeyMatcher matcher) {
+            this.matcher = matcher;
+        }
+
+        @Override
+        public Yaml.Sequence visitSequence(Yaml.Sequence sequence, ExecutionContext ctx) {
+            // property keys within sequences are never deleted
+            return sequence;
+        }
+
+        @Override
+        public Yaml.Mapping visitMapping(Yaml.Mapping mapping, ExecutionContext ctx) {
+            Yaml.Mapping m = super.visitMapping(mapping, ctx);
+            if (!m.getEntries().isEmpty() && m.getEntries().get(0).getId() != mapping.getEntries().get(0).getId()) {
+                // the first entry was deleted, so the new first entry takes its place
+                m = m.withEntries(ListUtils.mapFirst(m.getEntries(), e -> e.withPrefix(mapping.getEntries().get(0).getPrefix())));
+            }
+            return m;
+        }
+
+        @Override
+        public @Nullable Yaml.Mapping.Entry visitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
+            StringBuilder key = new StringBuilder(entry.getKey().getValue());
+            for (Cursor c = getCursor().getParent(); c != null; c = c.getParent()) {
+                if (c.getValue() instanceof Yaml.Mapping.Entry) {
+                    key.insert(0, '.').insert(0, ((Yaml.Mapping.Entry) c.getValue()).getKey().getValue());
+                }
+            }
+            if (matcher.matches(key.toString())) {
+                //noinspection ConstantConditions
+                return null;
+            }
+
+            Yaml.Mapping.Entry e = super.visitMappingEntry(entry, ctx);
+            if (entry.getValue() instanceof Yaml.Mapping && !((Yaml.Mapping) entry.getValue()).getEntries().isEmpty() &&
+                ((Yaml.Mapping) e.getValue()).getEntries().isEmpty()) {
+                // every property below this entry was deleted
+                //noinspection ConstantConditions
+                return null;
+            }
+            return e;
+        }
+    }
+
+    private static class DeleteProperties extends PropertiesIsoVisitor<ExecutionContext> {
+        private final PropertyKeyMatcher matcher;
+
+        DeleteProperties(PropertyKeyMatcher matcher) {
+            this.matcher = matcher;
+        }
+
+        @Override
+        public Properties.File visitFile(Properties.File file, ExecutionContext ctx) {
+            Properties.File f = super.visitFile(file, ctx);
+            List<Properties.Content> content = ListUtils.map(f.getContent(), c ->
+                    c instanceof Properties.Entry && matcher.matches(((Properties.Entry) c).getKey()) ? null : c);
+            if (content == f.getContent()) {
+                return f;
+            }
+            if (!content.isEmpty() && content.get(0) != f.getContent().get(0)) {
+                // the first entry was deleted, so the new first entry takes its place
+                Properties.Content first = f.getContent().get(0);
+                String prefix = first instanceof Properties.Entry ?
+                        ((Properties.Entry) first).getPrefix() :
+                        ((Properties.Comment) first).getPrefix();
+                content = ListUtils.mapFirst(content, c -> c instanceof Properties.Entry ?
+                        ((Properties.Entry) c).withPrefix(prefix) :
+                        ((Properties.Comment) c).withPrefix(prefix));
+            }
+            return f.withContent(content);
+        }
+    }
+
+    /**
+     * Matches property keys, with relaxed binding, against the set of keys to delete, checking keys without a glob
+     * with a single hash lookup and all keys with a glob with a single regex.
+     */
+    private static class PropertyKeyMatcher {
+        private final Set<String> canonicalKeys = new HashSet<>();
+
+        @Nullable
+        private final Pattern globs;
+
+        PropertyKeyMatcher(List<String> propertyKeys) {
+            StringJoiner globs = new StringJoiner("|");
+            for (String propertyKey : propertyKeys) {
+                String canonicalKey = SpringPropertyKeys.canonical(propertyKey);
+                if (propertyKey.contains("*")) {
+                    globs.add("(?:" + PropertyKeyChangeMatcher.globPattern(canonicalKey).pattern() + ")");
+                } else {
+                    canonicalKeys.add(canonicalKey);
+                }
+            }
+            this.globs = globs.length() == 0 ? null : Pattern.compile(globs.toString());
+        }
+
+        boolean matches(String propertyKey) {
+            String canonicalKey = SpringPropertyKeys.canonical(propertyKey);
+            return canonicalKeys.contains(canonicalKey) || (globs != null && globs.matcher(canonicalKey).matches());
+        }
+    }
+}
@@ -24,10 +24,7 @@ import org.openrewrite.yaml.YamlVisitor;
 import org.openrewrite.yaml.tree.Yaml;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
 
-import static java.util.Collections.singletonList;
 import static org.openrewrite.Tree.randomId;
 
 public class ExpandProperties extends Recipe {
@@ -70,97 +67,137 @@ public class ExpandProperties extends Recipe {
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         return new YamlVisitor<ExecutionContext>() {
             @Override
-            public Yaml visitDocuments(Yaml.Documents documents, ExecutionContext executionContext) {
-                Yaml docs = super.visitDocuments(documents, executionContext);
-                Yaml docsExpanded = new ExpandEntriesVisitor().visitNonNull(docs, executionContext);
-                if (docsExpanded != docs) {
-                    docs = new CoalesceEntriesVisitor().visitNonNull(docsExpanded, executionContext);
+            public Yaml visitDocument(Yaml.Document document, ExecutionContext ctx) {
+                Yaml.Block block = expand(document.getBlock());
+                if (block == document.getBlock()) {
+                    return document;
                 }
-                return docs;
+
+                // format each expanded subtree once, leaving the untouched entries alone
+                if (block instanceof Yaml.Mapping) {
+                    Set<Yaml.Mapping.Entry> unchanged = Collections.newSetFromMap(new IdentityHashMap<>());
+                    unchanged.addAll(((Yaml.Mapping) document.getBlock()).getEntries());
+                    Cursor mappingCursor = new Cursor(getCursor(), block);
+                    block = ((Yaml.Mapping) block).withEntries(ListUtils.map(((Yaml.Mapping) block).getEntries(),
+                            e -> unchanged.contains(e) ? e : autoFormat(e, ctx, mappingCursor)));
+                } else {
+                    block = autoFormat(block, ctx, getCursor());
+                }
+                return document.withBlock(block);
             }
         };
     }
 
-    private static class ExpandEntriesVisitor extends YamlVisitor<ExecutionContext> {
-        @Override
-        public Yaml visitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
-            Yaml.Mapping.Entry e = entry;
-            String key = e.getKey().getValue();
-            if (key.contains(".") && e.getKey() instanceof Yaml.Scalar) {
-                e = e.withKey(((Yaml.Scalar)e.getKey()).withValue(key.substring(0, key.indexOf('.'))));
-                e = e.withValue(new Yaml.Mapping(
-                        randomId(),
-                        Markers.EMPTY,
-                        null,
-                        singletonList(
-                                new Yaml.Mapping.Entry(
-                                        randomId(),
-                                        "",
-                                        Markers.EMPTY,
-                                        new Yaml.Scalar(
-                                                randomId(),
-                                                "",
-                                                Markers.EMPTY,
-                                                Yaml.Scalar.Style.PLAIN,
-                                                null,
-                                                key.substring(key.indexOf('.') + 1)),
-                                        "",
-                                        e.getValue()
-                                )
-                        ),
-                        null,
-                        null
-                ));
-                e = autoFormat(e, ctx, getCursor().getParentOrThrow());
+    /**
+     * Expands the dot syntax shortcut in every block mapping within the block in a single pass over its entries, merging
+     * mappings that end up with the same key as they are built.
+     *
+     * @return The expanded block, or the same block if there was nothing to expand.
+     */
+    private static Yaml.Block expand(Yaml.Block block) {
+        if (isBlockMapping(block)) {
+            Yaml.Mapping mapping = (Yaml.Mapping) block;
+            MappingNode root = new MappingNode("", "", null);
+            for (Yaml.Mapping.Entry entry : mapping.getEntries()) {
+                root.add(entry, entry.getPrefix());
             }
-            return super.visitMappingEntry(e, ctx);
+            return root.toMapping(mapping);
+        } else if (block instanceof Yaml.Sequence) {
+            Yaml.Sequence sequence = (Yaml.Sequence) block;
+            return sequence.withEntries(ListUtils.map(sequence.getEntries(), e -> e.withBlock(expand(e.getBlock()))));
         }
+        return block;
     }
 
-    private static class CoalesceEntriesVisitor extends YamlVisitor<ExecutionContext> {
-        @Override
-        public Yaml visitMapping(Yaml.Mapping mapping, ExecutionContext ctx) {
-            Map<String, List<Yaml.Mapping>> mappingsByKey = new HashMap<>();
-            for (Yaml.Mapping.Entry entry : mapping.getEntries()) {
-                if (entry.getValue() instanceof Yaml.Mapping) {
-                    mappingsByKey.computeIfAbsent(entry.getKey().getValue(), v -> new ArrayList<>()).add((Yaml.Mapping)entry.getValue());
-                }
+    private static boolean isBlockMapping(Yaml.Block block) {
+        return block instanceof Yaml.Mapping && ((Yaml.Mapping) block).getOpeningBracePrefix() == null;
+    }
+
+    /**
+     * A mapping under construction. Each key of a mapping is only ever added to it once, so that any entries with
+     * the same key are merged into the same node.
+     */
+    private static class MappingNode {
+        private final String key;
+        private final String prefix;
+
+        /**
+         * The first entry whose value provides this mapping, or null if the mapping is created by expanding a key.
+         */
+        @Nullable
+        private final Yaml.Mapping.Entry entry;
+
+        // either a MappingNode or the Yaml.Mapping.Entry of a value that is not a block mapping
+        private final List<Object> children = new ArrayList<>();
+        private final Map<String, MappingNode> mappings = new HashMap<>();
+
+        private MappingNode(String key, String prefix, @Nullable Yaml.Mapping.Entry entry) {
+            this.key = key;
+            this.prefix = prefix;
+            this.entry = entry;
+        }
+
+        void add(Yaml.Mapping.Entry e, String entryPrefix) {
+            String entryKey = e.getKey().getValue();
+            String[] parts = e.getKey() instanceof Yaml.Scalar && entryKey.contains(".") &&
+                             !entryKey.startsWith(".") && !entryKey.endsWith(".") && !entryKey.contains("..") ?
+                    entryKey.split("\\.") :
+                    new String[]{entryKey};
+
+            MappingNode node = this;
+            String prefix = entryPrefix;
+            for (int i = 0; i < parts.length - 1; i++) {
+                node = node.mapping(parts[i], prefix, null);
+                prefix = "\n";
             }
 
-            for (Map.Entry<String, List<Yaml.Mapping>> keyMappings : mappingsByKey.entrySet()) {
-                if (keyMappings.getValue().size() > 1) {
-                    Yaml.Mapping newMapping = new Yaml.Mapping(
-                            randomId(),
-                            Markers.EMPTY,
-                            null,
-                            keyMappings.getValue().stream().flatMap(duplicateMapping -> duplicateMapping.getEntries().stream())
-                                    .collect(Collectors.toList()),
-                            null,
-                            null
-                    );
-                    Yaml.Mapping.Entry newEntry = new Yaml.Mapping.Entry(randomId(),
-                            "",
-                            Markers.EMPTY,
-                            new Yaml.Scalar(randomId(), "", Markers.EMPTY, Yaml.Scalar.Style.PLAIN, null, keyMappings.getKey()),
-                            "", newMapping);
-
-                    AtomicInteger insertIndex = new AtomicInteger(-1);
-                    mapping = mapping.withEntries(ListUtils.map(mapping.getEntries(), (i, ent) -> {
-                        if (ent.getKey().getValue().equals(keyMappings.getKey())) {
-                            if (insertIndex.get() < 0) {
-                                insertIndex.set(i);
-                            }
-                            return null;
-                        }
-                        return ent;
-                    }));
-                    //noinspection ConstantConditions
-                    mapping = maybeAutoFormat(mapping, mapping.withEntries(ListUtils.insertAll(mapping.getEntries(), insertIndex.get(), Collections.singletonList(newEntry))),
-                            ctx, getCursor().getParent().getValue() instanceof Yaml.Document ? getCursor().getParent() : getCursor());
+            String leafKey = parts[parts.length - 1];
+            if (isBlockMapping(e.getValue())) {
+                MappingNode target = node.mapping(leafKey, prefix, e);
+                for (Yaml.Mapping.Entry child : ((Yaml.Mapping) e.getValue()).getEntries()) {
+                    target.add(child, child.getPrefix());
                 }
+            } else {
+                Yaml.Mapping.Entry leaf = e.withPrefix(prefix).withValue(expand(e.getValue()));
+                node.children.add(leafKey.equals(entryKey) ? leaf : leaf.withKey(((Yaml.Scalar) e.getKey()).withValue(leafKey)));
             }
-            return super.visitMapping(mapping, ctx);
+        }
+
+        private MappingNode mapping(String key, String prefix, @Nullable Yaml.Mapping.Entry entry) {
+            MappingNode node = mappings.get(key);
+            if (node == null) {
+                node = new MappingNode(key, prefix, entry);
+                mappings.put(key, node);
+                children.add(node);
+            }
+            return node;
+        }
+
+        Yaml.Mapping toMapping(Yaml.Mapping base) {
+            List<Yaml.Mapping.Entry> entries = new ArrayList<>(children.size());
+            boolean changed = children.size() != base.getEntries().size();
+            for (int i = 0; i < children.size(); i++) {
+                Object child = children.get(i);
+                Yaml.Mapping.Entry e = child instanceof MappingNode ? ((MappingNode) child).toEntry() : (Yaml.Mapping.Entry) child;
+                changed |= i >= base.getEntries().size() || e != base.getEntries().get(i);
+                entries.add(e);
+            }
+            return changed ? base.withEntries(entries) : base;
+        }
+
+        private Yaml.Mapping.Entry toEntry() {
+            if (entry == null) {
+                return new Yaml.Mapping.Entry(
+                        randomId(),
+                        prefix,
+                        Markers.EMPTY,
+                        new Yaml.Scalar(randomId(), "", Markers.EMPTY, Yaml.Scalar.Style.PLAIN, null, key),
+                        "",
+                        toMapping(new Yaml.Mapping(randomId(), Markers.EMPTY, null, Collections.emptyList(), null, null))
+                );
+            }
+            Yaml.Mapping.Entry e = entry.withPrefix(prefix).withValue(toMapping((Yaml.Mapping) entry.getValue()));
+            return key.equals(e.getKey().getValue()) ? e : e.withKey(((Yaml.Scalar) e.getKey()).withValue(key));
         }
     }
 }
-
@@ -22,7 +22,7 @@ import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.spring.search.UsesAnyType;
 import org.openrewrite.java.tree.J;
 
 import java.util.Set;
@@ -45,19 +45,14 @@ public class ImplicitWebAnnotationNames extends Recipe {
     @Nullable
     @Override
     protected TreeVisitor<?, ExecutionContext> getSingleSourceApplicableTest() {
-        return new JavaIsoVisitor<ExecutionContext>() {
-            @Override
-            public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, ExecutionContext executionContext) {
-                doAfterVisit(new UsesType<>("org.springframework.web.bind.annotation.PathVariable"));
-                doAfterVisit(new UsesType<>("org.springframework.web.bind.annotation.RequestParam"));
-                doAfterVisit(new UsesType<>("org.springframework.web.bind.annotation.RequestHeader"));
-                doAfterVisit(new UsesType<>("org.springframework.web.bind.annotation.RequestAttribute"));
-                doAfterVisit(new UsesType<>("org.springframework.web.bind.annotation.CookieValue"));
-                doAfterVisit(new UsesType<>("org.springframework.web.bind.annotation.ModelAttribute"));
-                doAfterVisit(new UsesType<>("org.springframework.web.bind.annotation.SessionAttribute"));
-                return cu;
-            }
-        };
+        return new UsesAnyType<>(
+                "org.springframework.web.bind.annotation.PathVariable",
+                "org.springframework.web.bind.annotation.RequestParam",
+                "org.springframework.web.bind.annotation.RequestHeader",
+                "org.springframework.web.bind.annotation.RequestAttribute",
+                "org.springframework.web.bind.annotation.CookieValue",
+                "org.springframework.web.bind.annotation.ModelAttribute",
+                "org.springframework.web.bind.annotation.SessionAttribute");
     }
 
     @Override
@@ -23,7 +23,7 @@ import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.AnnotationMatcher;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.RemoveAnnotationVisitor;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.spring.search.UsesAnyType;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.Statement;
 
@@ -45,7 +45,7 @@ public class NoAutowiredOnConstructor extends Recipe {
     @Nullable
     @Override
     protected TreeVisitor<?, ExecutionContext> getSingleSourceApplicableTest() {
-        return new UsesType<>("org.springframework.beans.factory.annotation.Autowired");
+        return new UsesAnyType<>("org.springframework.beans.factory.annotation.Autowired");
     }
 
     @Override
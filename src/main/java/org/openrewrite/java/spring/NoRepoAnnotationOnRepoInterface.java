@@ -22,7 +22,7 @@ import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.AnnotationMatcher;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.RemoveAnnotationVisitor;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.spring.search.UsesAnyType;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
 import org.openrewrite.java.tree.TypeUtils;
@@ -44,7 +44,7 @@ public class NoRepoAnnotationOnRepoInterface extends Recipe {
 
     @Override
     protected TreeVisitor<?, ExecutionContext> getApplicableTest() {
-        return new UsesType<ExecutionContext>(ANNOTATION_REPOSITORY);
+        return new UsesAnyType<ExecutionContext>(ANNOTATION_REPOSITORY);
     }
 
     @Override
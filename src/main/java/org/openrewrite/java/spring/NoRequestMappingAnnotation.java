@@ -23,7 +23,7 @@ import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.AnnotationMatcher;
 import org.openrewrite.java.ChangeType;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.spring.search.UsesAnyType;
 import org.openrewrite.java.tree.J;
 
 import java.time.Duration;
@@ -67,7 +67,7 @@ public class NoRequestMappingAnnotation extends Recipe {
     @Nullable
     @Override
     protected TreeVisitor<?, ExecutionContext> getSingleSourceApplicableTest() {
-        return new UsesType<>("org.springframework.web.bind.annotation.RequestMapping");
+        return new UsesAnyType<>("org.springframework.web.bind.annotation.RequestMapping");
     }
 
     @Override
@@ -15,24 +15,22 @@
  */
 package org.openrewrite.java.spring;
 
-import lombok.EqualsAndHashCode;
-import org.openrewrite.ExecutionContext;
-import org.openrewrite.HasSourcePath;
-import org.openrewrite.Recipe;
-import org.openrewrite.TreeVisitor;
-import org.openrewrite.internal.NameCaseConvention;
+import org.openrewrite.*;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.spring.internal.SpringPropertyKeys;
+import org.openrewrite.marker.SearchResult;
 import org.openrewrite.properties.PropertiesIsoVisitor;
-import org.openrewrite.properties.PropertiesVisitor;
 import org.openrewrite.properties.tree.Properties;
 import org.openrewrite.yaml.YamlIsoVisitor;
-import org.openrewrite.yaml.YamlVisitor;
 import org.openrewrite.yaml.tree.Yaml;
 
+import java.util.Collections;
+import java.util.List;
+
 public class PropertiesToKebabCase extends Recipe {
-    public PropertiesToKebabCase() {
-        doNext(new PropertiesToKebabCaseYaml());
-        doNext(new PropertiesToKebabCaseProperties());
-    }
+    private static final List<String> YAML_FILES = Collections.singletonList("**/application*.{yml,yaml}");
+    private static final List<String> PROPERTIES_FILES = Collections.singletonList("**/application*.properties");
+
     @Override
     public String getDisplayName() {
         return "Normalize Spring properties to kebab-case";
@@ -48,63 +46,56 @@ public class PropertiesToKebabCase extends Recipe {
                 "[The Spring reference documentation recommends using `kebab-case` for properties where possible.](https://docs.spring.io/spring-boot/docs/2.5.6/reference/html/features.html#features.external-config.typesafe-configuration-properties.relaxed-binding).";
     }
 
-    @EqualsAndHashCode(callSuper = true)
-    static class PropertiesToKebabCaseYaml extends Recipe {
-        @Override
-        public String getDisplayName() {
-            return "Normalize Spring `application*.{yml,yaml}` properties to kebab-case";
-        }
-
-        @Override
-        protected TreeVisitor<?, ExecutionContext> getSingleSourceApplicableTest() {
-            return new HasSourcePath<>("**/application*.{yml,yaml}");
-        }
-
-        @Override
-        public YamlVisitor<ExecutionContext> getVisitor() {
-            return new YamlIsoVisitor<ExecutionContext>() {
-                @Override
-                public Yaml.Mapping.Entry visitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
-                    Yaml.Mapping.Entry e = super.visitMappingEntry(entry, ctx);
-                    if (e.getKey() instanceof Yaml.Scalar) {
-                        String key = e.getKey().getValue();
-                        String asKebabCase = NameCaseConvention.LOWER_HYPHEN.format(key);
-                        if (!key.equals(asKebabCase)) {
-                            return e.withKey(((Yaml.Scalar)e.getKey()).withValue(asKebabCase));
-                        }
-                    }
-                    return e;
+    @Override
+    protected TreeVisitor<?, ExecutionContext> getSingleSourceApplicableTest() {
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if ((tree instanceof Yaml.Documents && SpringConfigurationFile.matchesAny(((SourceFile) tree).getSourcePath(), YAML_FILES)) ||
+                    (tree instanceof Properties.File && SpringConfigurationFile.matchesAny(((SourceFile) tree).getSourcePath(), PROPERTIES_FILES))) {
+                    return SearchResult.found(tree);
                 }
-            };
-        }
+                return tree;
+            }
+        };
     }
 
-    @EqualsAndHashCode(callSuper = true)
-    static class PropertiesToKebabCaseProperties extends Recipe {
-        @Override
-        public String getDisplayName() {
-            return "Normalize Spring `application*.properties` properties to kebab-case";
-        }
-
-        @Override
-        protected TreeVisitor<?, ExecutionContext> getSingleSourceApplicableTest() {
-            return new HasSourcePath<>("**/application*.properties");
-        }
-
-        @Override
-        public PropertiesVisitor<ExecutionContext> getVisitor() {
-            return new PropertiesIsoVisitor<ExecutionContext>() {
-                @Override
-                public Properties.Entry visitEntry(Properties.Entry entry, ExecutionContext executionContext) {
-                    Properties.Entry e = super.visitEntry(entry, executionContext);
-                    String key = e.getKey();
-                    String asKebabCase = NameCaseConvention.LOWER_HYPHEN.format(key);
-                    if (!key.equals(asKebabCase)) {
-                        return e.withKey(asKebabCase);
-                    }
-                    return e;
+    @Override
+    protected TreeVisitor<?, ExecutionContext> getVisitor() {
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (tree instanceof Yaml.Documents) {
+                    return new YamlIsoVisitor<ExecutionContext>() {
+                        @Override
+                        public Yaml.Mapping.Entry visitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
+                            Yaml.Mapping.Entry e = super.visitMappingEntry(entry, ctx);
+                            if (e.getKey() instanceof Yaml.Scalar) {
+                                String key = e.getKey().getValue();
+                                String asKebabCase = SpringPropertyKeys.kebabCase(key);
+                                if (!key.equals(asKebabCase)) {
+                                    return e.withKey(((Yaml.Scalar) e.getKey()).withValue(asKebabCase));
+                                }
+                            }
+                            return e;
+                        }
+                    }.visit(tree, ctx);
+                } else if (tree instanceof Properties.File) {
+                    return new PropertiesIsoVisitor<ExecutionContext>() {
+                        @Override
+                        public Properties.Entry visitEntry(Properties.Entry entry, ExecutionContext ctx) {
+                            Properties.Entry e = super.visitEntry(entry, ctx);
+                            String key = e.getKey();
+                            String asKebabCase = SpringPropertyKeys.kebabCase(key);
+                            if (!key.equals(asKebabCase)) {
+                                return e.withKey(asKebabCase);
+                            }
+                            return e;
+                        }
+                    }.visit(tree, ctx);
                 }
-            };
-        }
+                return tree;
+            }
+        };
     }
 }
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import lombok.Value;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.spring.internal.SpringPropertyKeys;
+import org.openrewrite.properties.PropertiesIsoVisitor;
+import org.openrewrite.properties.tree.Properties;
+import org.openrewrite.yaml.ChangePropertyKey;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The compiled form of a single spring property key change, shared by every run of every recipe that changes the same
+ * key in the same way. The YAML recipe, the relaxed binding form of the old key and the subproperty regex are built
+ * once per JVM rather than once per run, and the regex is only evaluated for keys that start with the old key.
+ */
+final class PropertyKeyChangeMatcher {
+    private static final Map<CacheKey, PropertyKeyChangeMatcher> MATCHERS = new ConcurrentHashMap<>();
+
+    private final String newPropertyKey;
+    private final String canonicalOldPropertyKey;
+
+    @Nullable
+    private final Pattern glob;
+
+    private final String subpropertyPrefix;
+    private final Pattern subproperty;
+    private final ChangePropertyKey yamlChangePropertyKey;
+
+    private PropertyKeyChangeMatcher(String oldPropertyKey, String newPropertyKey, @Nullable List<String> except) {
+        this.newPropertyKey = newPropertyKey;
+        this.canonicalOldPropertyKey = SpringPropertyKeys.canonical(oldPropertyKey);
+        this.glob = oldPropertyKey.contains("*") ? globPattern(canonicalOldPropertyKey) : null;
+        this.subpropertyPrefix = oldPropertyKey + ".";
+        this.subproperty = Pattern.compile(Pattern.quote(subpropertyPrefix) + exceptRegex(except) + "(.*)");
+        this.yamlChangePropertyKey = new ChangePropertyKey(oldPropertyKey, newPropertyKey, true, null, except);
+    }
+
+    static PropertyKeyChangeMatcher of(String oldPropertyKey, String newPropertyKey, @Nullable List<String> except) {
+        return MATCHERS.computeIfAbsent(new CacheKey(oldPropertyKey, newPropertyKey, except),
+                k -> new PropertyKeyChangeMatcher(oldPropertyKey, newPropertyKey, except));
+    }
+
+    ChangePropertyKey getYamlChangePropertyKey() {
+        return yamlChangePropertyKey;
+    }
+
+    PropertiesIsoVisitor<ExecutionContext> getPropertiesVisitor() {
+        return new PropertiesIsoVisitor<ExecutionContext>() {
+            @Override
+            public Properties.Entry visitEntry(Properties.Entry entry, ExecutionContext ctx) {
+                Properties.Entry e = super.visitEntry(entry, ctx);
+                String newKey = changePropertiesKey(e.getKey());
+                return newKey == null ? e : e.withKey(newKey);
+            }
+        };
+    }
+
+    /**
+     * A key matching the old key (with relaxed binding) is replaced by the new key, and a key nested below the old key
+     * is moved below the new key unless it starts with one of the exceptions.
+     *
+     * @return The changed key, or null if this change does not apply to the key.
+     */
+    @Nullable
+    String changePropertiesKey(String key) {
+        if (matchesOldPropertyKey(key)) {
+            return newPropertyKey;
+        }
+        if (key.startsWith(subpropertyPrefix)) {
+            Matcher matcher = subproperty.matcher(key);
+            if (matcher.matches()) {
+                return newPropertyKey + "." + matcher.group(1);
+            }
+        }
+        return null;
+    }
+
+    private boolean matchesOldPropertyKey(String key) {
+        if (glob != null) {
+            return glob.matcher(SpringPropertyKeys.canonical(key)).matches();
+        }
+        // the canonical form of a key is never longer than the key itself
+        return key.length() >= canonicalOldPropertyKey.length() &&
+               SpringPropertyKeys.canonical(key).equals(canonicalOldPropertyKey);
+    }
+
+    private static String exceptRegex(@Nullable List<String> except) {
+        return except == null || except.isEmpty()
+                ? ""
+                : "(?!(" + String.join("|", except) + "))";
+    }
+
+    static Pattern globPattern(String canonicalOldPropertyKey) {
+        String[] parts = canonicalOldPropertyKey.split("\\*", -1);
+        StringBuilder regex = new StringBuilder(Pattern.quote(parts[0]));
+        for (int i = 1; i < parts.length; i++) {
+            regex.append(".*").append(Pattern.quote(parts[i]));
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    @Value
+    private static class CacheKey {
+        String oldPropertyKey;
+        String newPropertyKey;
+
+        @Nullable
+        List<String> except;
+    }
+}
@@ -20,8 +20,8 @@ import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
 import org.openrewrite.SourceFile;
 import org.openrewrite.internal.ListUtils;
+import org.openrewrite.java.spring.internal.SpringPropertyIndex;
 import org.openrewrite.yaml.DeleteProperty;
-import org.openrewrite.yaml.search.FindProperty;
 import org.openrewrite.yaml.tree.Yaml;
 
 import java.util.Collections;
@@ -55,7 +55,7 @@ public class SeparateApplicationYamlByProfile extends Recipe {
                 Yaml.Documents mainYaml = yaml.withDocuments(ListUtils.map(
                         (List<Yaml.Document>) yaml.getDocuments(),
                         doc -> {
-                            String profileName = FindProperty.find(doc, "spring.config.activate.on-profile", true).stream()
+                            String profileName = SpringPropertyIndex.find(doc, "spring.config.activate.on-profile").stream()
                                     .findAny()
                                     .map(profile -> ((Yaml.Scalar) profile).getValue())
                                     .orElse(null);
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import lombok.Value;
+import org.openrewrite.internal.lang.Nullable;
+
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The classification of a source file as a spring boot configuration file, as returned by
+ * {@link SpringExecutionContextView#getConfigurationFile(org.openrewrite.SourceFile)}.
+ * <P>
+ * A file named `application.{properties,yml,yaml}` is an {@link Kind#APPLICATION} file and a file named
+ * `application-{profile}.{properties,yml,yaml}` is a profile-specific {@link Kind#APPLICATION} file, likewise for
+ * `bootstrap`. Every other file is {@link Kind#OTHER}.
+ */
+@Value
+public class SpringConfigurationFile {
+    private static final Map<String, PathMatcher> PATH_MATCHERS = new ConcurrentHashMap<>();
+
+    public enum Kind {
+        APPLICATION,
+        BOOTSTRAP,
+        OTHER
+    }
+
+    Kind kind;
+
+    /**
+     * The profile of a profile-specific configuration file, or null if the file is not profile-specific.
+     */
+    @Nullable
+    String profile;
+
+    /**
+     * Whether the file matches one of the
+     * {@link SpringExecutionContextView#getDefaultApplicationConfigurationPaths() default application configuration paths}.
+     */
+    boolean defaultApplicationConfiguration;
+
+    public boolean isApplication() {
+        return kind == Kind.APPLICATION;
+    }
+
+    public boolean isBootstrap() {
+        return kind == Kind.BOOTSTRAP;
+    }
+
+    public boolean isProfileSpecific() {
+        return profile != null;
+    }
+
+    static SpringConfigurationFile classify(Path sourcePath, List<String> defaultApplicationConfigurationPaths) {
+        boolean defaultApplicationConfiguration = defaultApplicationConfigurationPaths.isEmpty() ||
+                                                  matchesAny(sourcePath, defaultApplicationConfigurationPaths);
+
+        Path fileName = sourcePath.getFileName();
+        String name = fileName == null ? "" : fileName.toString();
+        int extension = name.lastIndexOf('.');
+        if (extension < 0 || !isConfigurationExtension(name.substring(extension + 1))) {
+            return new SpringConfigurationFile(Kind.OTHER, null, defaultApplicationConfiguration);
+        }
+
+        String baseName = name.substring(0, extension);
+        for (Kind kind : new Kind[]{Kind.APPLICATION, Kind.BOOTSTRAP}) {
+            String prefix = kind.name().toLowerCase();
+            if (baseName.equals(prefix)) {
+                return new SpringConfigurationFile(kind, null, defaultApplicationConfiguration);
+            } else if (baseName.startsWith(prefix + "-") && baseName.length() > prefix.length() + 1) {
+                return new SpringConfigurationFile(kind, baseName.substring(prefix.length() + 1), defaultApplicationConfiguration);
+            }
+        }
+        return new SpringConfigurationFile(Kind.OTHER, null, defaultApplicationConfiguration);
+    }
+
+    /**
+     * @param sourcePath The path to match.
+     * @param globs      Glob expressions, where an expression starting with "**" also matches files at the root.
+     * @return Whether any of the globs matches the path.
+     */
+    static boolean matchesAny(Path sourcePath, List<String> globs) {
+        FileSystem fileSystem = sourcePath.getFileSystem();
+        for (String glob : globs) {
+            Path path = glob.startsWith("**") ?
+                    fileSystem.getPath(".").resolve(sourcePath.normalize()) :
+                    sourcePath.normalize();
+            PathMatcher pathMatcher = fileSystem == FileSystems.getDefault() ?
+                    PATH_MATCHERS.computeIfAbsent(glob, g -> fileSystem.getPathMatcher("glob:" + g)) :
+                    fileSystem.getPathMatcher("glob:" + glob);
+            if (pathMatcher.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isConfigurationExtension(String extension) {
+        return "properties".equals(extension) || "yml".equals(extension) || "yaml".equals(extension);
+    }
+}
@@ -17,14 +17,31 @@ package org.openrewrite.java.spring;
 
 import org.openrewrite.DelegatingExecutionContext;
 import org.openrewrite.ExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.internal.lang.Nullable;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 @SuppressWarnings("ALL")
 public class SpringExecutionContextView extends DelegatingExecutionContext {
 
     private static final String DEFAULT_APPLICATION_CONFIGURATION_PATHS = "org.openrewrite.java.spring.defaultApplicationConfigurationPaths";
+    private static final String CONFIGURATION_FILES = "org.openrewrite.java.spring.configurationFiles";
+    private static final String CLASSPATH_CACHE_DIRECTORY = "org.openrewrite.java.spring.classpathCacheDirectory";
+    private static final String CLASSPATH_CACHE_MAX_SIZE = "org.openrewrite.java.spring.classpathCacheMaxSize";
+    private static final String PROJECT_FINGERPRINT = "org.openrewrite.java.spring.projectFingerprint";
+    private static final String SPRING_REPOSITORIES = "org.openrewrite.java.spring.springRepositories";
+    private static final String BOM_CACHE_DIRECTORY = "org.openrewrite.java.spring.bomCacheDirectory";
+    private static final String METADATA_CACHE_DIRECTORY = "org.openrewrite.java.spring.metadataCacheDirectory";
+    private static final String METADATA_CACHE_TIME_TO_LIVE = "org.openrewrite.java.spring.metadataCacheTimeToLive";
 
     public SpringExecutionContextView(ExecutionContext delegate) {
         super(delegate);
@@ -58,4 +75,165 @@ public class SpringExecutionContextView extends DelegatingExecutionContext {
     public List<String> getDefaultApplicationConfigurationPaths() {
         return getMessage(DEFAULT_APPLICATION_CONFIGURATION_PATHS, Arrays.asList("**/application.yml", "**/application.properties", "**/application.yaml"));
     }
+
+    /**
+     * The directory in which the jars that recipes put on the classpath of their templates are extracted, so that
+     * they are extracted once and shared by every run rather than once per JVM. The default is
+     * "~/.rewrite/cache/spring-classpath".
+     *
+     * @param directory The cache directory.
+     * @return this
+     */
+    public SpringExecutionContextView setClasspathCacheDirectory(Path directory) {
+        putMessage(CLASSPATH_CACHE_DIRECTORY, directory);
+        return this;
+    }
+
+    public Path getClasspathCacheDirectory() {
+        return getMessage(CLASSPATH_CACHE_DIRECTORY, Paths.get(System.getProperty("user.home"), ".rewrite", "cache", "spring-classpath"));
+    }
+
+    /**
+     * The size the classpath cache directory is trimmed down to, by deleting its least recently used jars, whenever
+     * a jar is added to it. The default is 512 MB.
+     *
+     * @param maxSize The maximum size of the cache, in bytes.
+     * @return this
+     */
+    public SpringExecutionContextView setClasspathCacheMaxSize(long maxSize) {
+        putMessage(CLASSPATH_CACHE_MAX_SIZE, maxSize);
+        return this;
+    }
+
+    public long getClasspathCacheMaxSize() {
+        return getMessage(CLASSPATH_CACHE_MAX_SIZE, 512L * 1024 * 1024);
+    }
+
+    /**
+     * The repositories that Spring Boot releases and the spring-boot-dependencies BOM are resolved from, with any
+     * mirrors and whether to work offline. The default is Maven Central and repo.spring.io, online.
+     *
+     * @param repositories The repositories.
+     * @return this
+     */
+    public SpringExecutionContextView setSpringRepositories(SpringRepositories repositories) {
+        putMessage(SPRING_REPOSITORIES, repositories);
+        return this;
+    }
+
+    public SpringRepositories getSpringRepositories() {
+        return getMessage(SPRING_REPOSITORIES, SpringRepositories.DEFAULT);
+    }
+
+    /**
+     * The directory in which the managed dependency versions of resolved spring-boot-dependencies BOMs are stored, so
+     * that each release's BOM is resolved once rather than once per JVM. The default is
+     * "~/.rewrite/cache/spring-boot-dependencies".
+     *
+     * @param directory The cache directory.
+     * @return this
+     */
+    public SpringExecutionContextView setBomCacheDirectory(Path directory) {
+        putMessage(BOM_CACHE_DIRECTORY, directory);
+        return this;
+    }
+
+    public Path getBomCacheDirectory() {
+        return getMessage(BOM_CACHE_DIRECTORY, Paths.get(System.getProperty("user.home"), ".rewrite", "cache", "spring-boot-dependencies"));
+    }
+
+    /**
+     * The directory in which repository metadata, like the listing of Spring Boot releases, is cached, so that every
+     * run after the first resolves versions from disk rather than from the network. The default is
+     * "~/.rewrite/cache/spring-boot-releases".
+     *
+     * @param directory The cache directory.
+     * @return this
+     */
+    public SpringExecutionContextView setMetadataCacheDirectory(Path directory) {
+        putMessage(METADATA_CACHE_DIRECTORY, directory);
+        return this;
+    }
+
+    public Path getMetadataCacheDirectory() {
+        return getMessage(METADATA_CACHE_DIRECTORY, Paths.get(System.getProperty("user.home"), ".rewrite", "cache", "spring-boot-releases"));
+    }
+
+    /**
+     * How long cached repository metadata is used without asking the repository whether it has changed. The default
+     * is a day.
+     *
+     * @param timeToLive The time to live of cached metadata.
+     * @return this
+     */
+    public SpringExecutionContextView setMetadataCacheTimeToLive(Duration timeToLive) {
+        putMessage(METADATA_CACHE_TIME_TO_LIVE, timeToLive);
+        return this;
+    }
+
+    public Duration getMetadataCacheTimeToLive() {
+        return getMessage(METADATA_CACHE_TIME_TO_LIVE, Duration.ofDays(1));
+    }
+
+    /**
+     * Records the Spring features of each module being migrated, for composite recipes to skip the sub-recipes that
+     * can't apply to a module.
+     *
+     * @param fingerprints The fingerprints of the modules of the current source files.
+     * @return this
+     */
+    public SpringExecutionContextView setProjectFingerprints(List<SpringProjectFingerprint> fingerprints) {
+        Map<UUID, SpringProjectFingerprint> bySourceFile = new HashMap<>();
+        for (SpringProjectFingerprint fingerprint : fingerprints) {
+            for (UUID sourceFileId : fingerprint.getSourceFileIds()) {
+                bySourceFile.put(sourceFileId, fingerprint);
+            }
+        }
+        putMessage(PROJECT_FINGERPRINT, bySourceFile);
+        return this;
+    }
+
+    /**
+     * @param sourceFile The source file, or an earlier version of it.
+     * @return The fingerprint of the module of the source file, or null if no
+     * {@link org.openrewrite.java.spring.search.FingerprintSpringProject} has run over it, in which case every
+     * sub-recipe must be assumed to apply.
+     */
+    @Nullable
+    public SpringProjectFingerprint getProjectFingerprint(SourceFile sourceFile) {
+        Map<UUID, SpringProjectFingerprint> bySourceFile = getMessage(PROJECT_FINGERPRINT);
+        return bySourceFile == null ? null : bySourceFile.get(sourceFile.getId());
+    }
+
+    /**
+     * Classifies a source file as a spring boot application, bootstrap or other file. Each source path is only
+     * classified once per execution context, so recipes can consult this for every file rather than matching
+     * their own path expressions.
+     *
+     * @param sourceFile The source file to classify.
+     * @return The classification of the source file.
+     */
+    public SpringConfigurationFile getConfigurationFile(SourceFile sourceFile) {
+        List<String> defaultApplicationConfigurationPaths = getDefaultApplicationConfigurationPaths();
+        ConfigurationFiles configurationFiles = getMessage(CONFIGURATION_FILES);
+        if (configurationFiles == null || !configurationFiles.defaultApplicationConfigurationPaths.equals(defaultApplicationConfigurationPaths)) {
+            configurationFiles = new ConfigurationFiles(defaultApplicationConfigurationPaths);
+            putMessage(CONFIGURATION_FILES, configurationFiles);
+        }
+        return configurationFiles.classify(sourceFile.getSourcePath());
+    }
+
+    private static class ConfigurationFiles {
+        private final List<String> defaultApplicationConfigurationPaths;
+        private final Map<Path, SpringConfigurationFile> classifications = new ConcurrentHashMap<>();
+
+        private ConfigurationFiles(List<String> defaultApplicationConfigurationPaths) {
+            this.defaultApplicationConfigurationPaths = defaultApplicationConfigurationPaths;
+        }
+
+        private SpringConfigurationFile classify(Path sourcePath) {
+            return classifications.computeIfAbsent(sourcePath,
+                    p -> SpringConfigurationFile.classify(p, defaultApplicationConfigurationPaths));
+        }
+    }
 }
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import lombok.Value;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.marker.JavaProject;
+import org.openrewrite.properties.tree.Properties;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.util.*;
+
+/**
+ * A compact summary of the Spring features a module uses, recorded once per recipe run by
+ * {@link org.openrewrite.java.spring.search.FingerprintSpringProject}, so that composite recipes can skip every
+ * sub-recipe that can't apply to the module before any of its visitors run, with
+ * {@link org.openrewrite.java.spring.search.HasSpringProjectFeature}.
+ * <P>
+ * A fingerprint only describes the source files it was recorded from, so that a later run reusing the same execution
+ * context on other source files is never filtered by it.
+ */
+@Value
+public class SpringProjectFingerprint {
+
+    /**
+     * The kinds of Spring Boot configuration files present, either {@link SpringConfigurationFile.Kind#APPLICATION}
+     * or {@link SpringConfigurationFile.Kind#BOOTSTRAP}.
+     */
+    Set<SpringConfigurationFile.Kind> configurationFiles;
+
+    /**
+     * The ids of the source files the fingerprint was recorded from.
+     */
+    Set<UUID> sourceFileIds;
+
+    /**
+     * @return One fingerprint per module, where the source files without a {@link JavaProject} marker are
+     * fingerprinted together.
+     */
+    public static List<SpringProjectFingerprint> byModule(List<SourceFile> sourceFiles, ExecutionContext ctx) {
+        Map<Optional<JavaProject>, List<SourceFile>> modules = new LinkedHashMap<>();
+        for (SourceFile sourceFile : sourceFiles) {
+            modules.computeIfAbsent(sourceFile.getMarkers().findFirst(JavaProject.class), m -> new ArrayList<>()).add(sourceFile);
+        }
+        List<SpringProjectFingerprint> fingerprints = new ArrayList<>(modules.size());
+        for (List<SourceFile> module : modules.values()) {
+            fingerprints.add(of(module, ctx));
+        }
+        return fingerprints;
+    }
+
+    public static SpringProjectFingerprint of(List<SourceFile> sourceFiles, ExecutionContext ctx) {
+        SpringExecutionContextView springCtx = SpringExecutionContextView.view(ctx);
+        Set<SpringConfigurationFile.Kind> configurationFiles = EnumSet.noneOf(SpringConfigurationFile.Kind.class);
+        Set<UUID> sourceFileIds = new HashSet<>();
+        for (SourceFile sourceFile : sourceFiles) {
+            sourceFileIds.add(sourceFile.getId());
+            if (sourceFile instanceof Yaml.Documents || sourceFile instanceof Properties.File) {
+                SpringConfigurationFile.Kind kind = springCtx.getConfigurationFile(sourceFile).getKind();
+                if (kind != SpringConfigurationFile.Kind.OTHER) {
+                    configurationFiles.add(kind);
+                }
+            }
+        }
+        return new SpringProjectFingerprint(configurationFiles, sourceFileIds);
+    }
+
+    /**
+     * @return Whether the module has any application or bootstrap configuration file, which Spring Boot property
+     * recipes apply to. Other YAML and properties files, like CI workflows or message bundles, don't count.
+     */
+    public boolean hasConfigurationFiles() {
+        return !configurationFiles.isEmpty();
+    }
+}
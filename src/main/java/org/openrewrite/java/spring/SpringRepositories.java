@@ -0,0 +1,113 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import lombok.Value;
+import lombok.With;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The repositories that Spring Boot releases and their dependency BOMs are resolved from, set with
+ * {@link SpringExecutionContextView#setSpringRepositories(SpringRepositories)}.
+ * <P>
+ * Any repository may be a `file://` repository, or be replaced by a mirror, like an internal repository manager. In
+ * offline mode, only `file://` repositories are consulted, and anything else is served from the caches or fails.
+ */
+@Value
+@With
+public class SpringRepositories {
+    public static final SpringRepositories DEFAULT = new SpringRepositories(
+            "https://repo1.maven.org/maven2",
+            "https://repo.spring.io/release",
+            "https://repo.spring.io/milestone",
+            "https://repo.spring.io/snapshot",
+            Collections.emptyMap(),
+            false);
+
+    /**
+     * The repository of Spring Boot releases.
+     */
+    String mavenCentral;
+
+    String springReleases;
+
+    /**
+     * The repository of Spring Boot milestones and release candidates.
+     */
+    String springMilestones;
+
+    String springSnapshots;
+
+    /**
+     * Mirror URLs, by the URL prefix of the repositories they replace. A mirror of `*` replaces every repository that
+     * no other mirror replaces.
+     */
+    Map<String, String> mirrors;
+
+    boolean offline;
+
+    /**
+     * @param repositoryUrl The URL prefix of the repositories to replace, or `*` for every repository.
+     * @param mirrorUrl     The URL of the mirror.
+     * @return A copy of these repositories with the mirror added.
+     */
+    public SpringRepositories withMirror(String repositoryUrl, String mirrorUrl) {
+        Map<String, String> mirrors = new LinkedHashMap<>(this.mirrors);
+        mirrors.put(stripTrailingSlash(repositoryUrl), stripTrailingSlash(mirrorUrl));
+        return withMirrors(Collections.unmodifiableMap(mirrors));
+    }
+
+    /**
+     * @param url A URL in one of the repositories.
+     * @return The URL in the mirror of the repository, or the URL itself if the repository isn't mirrored.
+     */
+    public String mirror(String url) {
+        String prefix = null;
+        for (String mirrored : mirrors.keySet()) {
+            if (!"*".equals(mirrored) && (url.equals(mirrored) || url.startsWith(mirrored + "/")) &&
+                (prefix == null || mirrored.length() > prefix.length())) {
+                prefix = mirrored;
+            }
+        }
+        if (prefix != null) {
+            return mirrors.get(prefix) + url.substring(prefix.length());
+        }
+        String everything = mirrors.get("*");
+        if (everything != null && !isLocal(url)) {
+            for (String repository : new String[]{mavenCentral, springReleases, springMilestones, springSnapshots}) {
+                String root = stripTrailingSlash(repository);
+                if (url.equals(root) || url.startsWith(root + "/")) {
+                    return everything + url.substring(root.length());
+                }
+            }
+        }
+        return url;
+    }
+
+    /**
+     * @return Whether the URL is in a `file://` repository, which is consulted even in offline mode.
+     */
+    public static boolean isLocal(String url) {
+        return url.startsWith("file:");
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") && !"*".equals(url) ? url.substring(0, url.length() - 1) : url;
+    }
+}
@@ -24,6 +24,7 @@ import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.*;
 import org.openrewrite.java.search.DeclaresMethod;
+import org.openrewrite.java.spring.internal.JavaParserPool;
 import org.openrewrite.java.tree.J;
 
 public class MigrateItemWriterWrite extends Recipe {
@@ -85,9 +86,7 @@ public class MigrateItemWriterWrite extends Recipe {
                         JavaTemplate.builder(
                                         () -> getCursor().getParentTreeCursor(),
                                         "#{}\n #{} void write(#{} Chunk<#{}> #{}) throws Exception #{}")
-                                .javaParser(() -> JavaParser.fromJavaVersion()
-                                        .classpathFromResources(ctx, "spring-batch-core-5.0.0", "spring-batch-infrastructure-5.0.0")
-                                        .build())
+                                .javaParser(() -> JavaParserPool.fromResources(ctx, "spring-batch-core-5.0.0", "spring-batch-infrastructure-5.0.0"))
                                 .imports("org.springframework.batch.item.Chunk")
                                 .build(),
                         m.getCoordinates().replace(),
@@ -24,11 +24,11 @@ import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.JavaVisitor;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesMethod;
+import org.openrewrite.java.spring.internal.JavaParserPool;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.J.ClassDeclaration;
 import org.openrewrite.java.tree.J.MethodDeclaration;
@@ -77,9 +77,7 @@ public class MigrateJobBuilderFactory extends Recipe {
 
                     return (method.withTemplate(JavaTemplate
                                     .builder(() -> getCursor().getParentTreeCursor(), "new JobBuilder(#{any(java.lang.String)}, jobRepository)")
-                                    .javaParser(() -> JavaParser.fromJavaVersion()
-                                            .classpathFromResources(ctx, "spring-batch-core-5.0.0")
-                                            .build())
+                                    .javaParser(() -> JavaParserPool.fromResources(ctx, "spring-batch-core-5.0.0"))
                                     .imports("org.springframework.batch.core.repository.JobRepository",
                                             "org.springframework.batch.core.job.builder.JobBuilder")
                                     .build(),
@@ -149,9 +147,7 @@ public class MigrateJobBuilderFactory extends Recipe {
                     .imports("org.springframework.batch.core.repository.JobRepository",
                             "org.springframework.batch.core.job.builder.JobBuilder",
                             "org.springframework.batch.core.Step")
-                    .javaParser(() -> JavaParser.fromJavaVersion()
-                            .classpathFromResources(ctx, "spring-batch-core-5.0.0")
-                            .build())
+                    .javaParser(() -> JavaParserPool.fromResources(ctx, "spring-batch-core-5.0.0"))
                     .build();
 
             md = md.withTemplate(paramsTemplate, md.getCoordinates().replaceParameters(), params.toArray());
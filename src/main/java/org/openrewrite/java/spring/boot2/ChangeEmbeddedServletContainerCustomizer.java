@@ -23,7 +23,8 @@ import org.openrewrite.internal.ListUtils;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaParser;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.spring.internal.JavaParserPool;
+import org.openrewrite.java.spring.search.UsesAnyType;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.TypeUtils;
 
@@ -49,7 +50,7 @@ public class ChangeEmbeddedServletContainerCustomizer extends Recipe {
 
     @Override
     protected @Nullable TreeVisitor<?, ExecutionContext> getSingleSourceApplicableTest() {
-        return new UsesType<>(DEPRECATED_INTERFACE_FQN);
+        return new UsesAnyType<>(DEPRECATED_INTERFACE_FQN);
     }
 
     @Override
@@ -81,10 +82,7 @@ public class ChangeEmbeddedServletContainerCustomizer extends Recipe {
         // Really no need to use a JavaTemplate in this recipe, we just compile a stubbed out class and extract
         // the J.ParameterizedType from the class's stub's implements.
         if (webFactoryCustomizerIdentifier == null) {
-            JavaParser parser = JavaParser
-                    .fromJavaVersion()
-                    .classpathFromResources(ctx, "spring-boot-2.*")
-                    .build();
+            JavaParser parser = JavaParserPool.fromResources(ctx, "spring-boot-2.*");
             J.CompilationUnit cu = parser.parse(
                     "import org.springframework.boot.web.server.WebServerFactoryCustomizer;\n" +
                     "import org.springframework.boot.web.servlet.server.ConfigurableServletWebServerFactory;\n" +
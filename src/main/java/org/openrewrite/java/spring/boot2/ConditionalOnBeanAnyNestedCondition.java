@@ -19,9 +19,9 @@ import org.openrewrite.*;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.AnnotationMatcher;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.spring.internal.JavaParserPool;
+import org.openrewrite.java.spring.search.UsesAnyType;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.Statement;
@@ -48,7 +48,7 @@ public class ConditionalOnBeanAnyNestedCondition extends Recipe {
     @Nullable
     @Override
     protected TreeVisitor<?, ExecutionContext> getSingleSourceApplicableTest() {
-        return new UsesType<>("org.springframework.boot.autoconfigure.condition.ConditionalOnBean");
+        return new UsesAnyType<>("org.springframework.boot.autoconfigure.condition.ConditionalOnBean");
     }
 
     @Override
@@ -128,9 +128,7 @@ public class ConditionalOnBeanAnyNestedCondition extends Recipe {
                         a = a.withTemplate(JavaTemplate.builder(this::getCursor, "@Conditional(#{}.class)")
                                 .imports("org.springframework.context.annotation.Conditional")
                                 .javaParser(() ->
-                                        JavaParser.fromJavaVersion()
-                                                .classpathFromResources(ctx, "spring-context-5.*", "spring-boot-autoconfigure-2.*")
-                                                .build())
+                                        JavaParserPool.fromResources(ctx, "spring-context-5.*", "spring-boot-autoconfigure-2.*"))
                                 .build(), a.getCoordinates().replace(), conditionalClassName);
                         maybeAddImport("org.springframework.context.annotation.Conditional");
                     } else {
@@ -156,9 +154,7 @@ public class ConditionalOnBeanAnyNestedCondition extends Recipe {
                 for (String s : conditionalTemplates) {
                     JavaTemplate t = JavaTemplate.builder(this::getCursor, s)
                             .imports("org.springframework.boot.autoconfigure.condition.AnyNestedCondition")
-                            .javaParser(() -> JavaParser.fromJavaVersion()
-                                    .classpathFromResources(ctx, "spring-boot-autoconfigure-2.*")
-                                    .build())
+                            .javaParser(() -> JavaParserPool.fromResources(ctx, "spring-boot-autoconfigure-2.*"))
                             .build();
                     c = maybeAutoFormat(c, c.withBody(c.getBody().withTemplate(t, c.getBody().getCoordinates().lastStatement())), ctx);
                 }
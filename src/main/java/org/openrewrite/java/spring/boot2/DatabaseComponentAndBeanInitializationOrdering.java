@@ -21,11 +21,10 @@ import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.AnnotationMatcher;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
-import org.openrewrite.java.JavaTemplate;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.spring.internal.AnnotationFactory;
+import org.openrewrite.java.spring.internal.LeadingAnnotations;
+import org.openrewrite.java.spring.search.UsesAnyType;
 import org.openrewrite.java.tree.J;
-import org.openrewrite.java.tree.JavaSourceFile;
 import org.openrewrite.java.tree.JavaType;
 import org.openrewrite.java.tree.TypeUtils;
 
@@ -34,6 +33,7 @@ import java.util.Comparator;
 import java.util.List;
 
 public class DatabaseComponentAndBeanInitializationOrdering extends Recipe {
+    private static final String FQN_DEPENDS_ON_DATABASE_INITIALIZATION = "org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization";
 
     @Override
     public String getDisplayName() {
@@ -52,24 +52,18 @@ public class DatabaseComponentAndBeanInitializationOrdering extends Recipe {
 
     @Override
     protected @Nullable TreeVisitor<?, ExecutionContext> getSingleSourceApplicableTest() {
-        return new JavaIsoVisitor<ExecutionContext>() {
-            @Override
-            public JavaSourceFile visitJavaSourceFile(JavaSourceFile cu, ExecutionContext executionContext) {
-                doAfterVisit(new UsesType<>("org.springframework.stereotype.Repository"));
-                doAfterVisit(new UsesType<>("org.springframework.stereotype.Repository"));
-                doAfterVisit(new UsesType<>("org.springframework.stereotype.Component"));
-                doAfterVisit(new UsesType<>("org.springframework.stereotype.Service"));
-                doAfterVisit(new UsesType<>("org.springframework.boot.test.context.TestComponent"));
-                doAfterVisit(new UsesType<>("org.springframework.context.annotation.Bean"));
-                return cu;
-            }
-        };
+        return new UsesAnyType<>(
+                "org.springframework.stereotype.Repository",
+                "org.springframework.stereotype.Component",
+                "org.springframework.stereotype.Service",
+                "org.springframework.boot.test.context.TestComponent",
+                "org.springframework.context.annotation.Bean");
     }
 
     @Override
     protected JavaIsoVisitor<ExecutionContext> getVisitor() {
         String javaxDataSourceFqn = "javax.sql.DataSource";
-        AnnotationMatcher dataSourceAnnotationMatcher = new AnnotationMatcher("@org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization");
+        AnnotationMatcher dataSourceAnnotationMatcher = new AnnotationMatcher("@" + FQN_DEPENDS_ON_DATABASE_INITIALIZATION);
         AnnotationMatcher beanAnnotationMatcher = new AnnotationMatcher("@org.springframework.context.annotation.Bean");
         List<AnnotationMatcher> componentAnnotationMatchers = Arrays.asList(
                 new AnnotationMatcher("@org.springframework.stereotype.Repository"),
@@ -93,14 +87,9 @@ public class DatabaseComponentAndBeanInitializationOrdering extends Recipe {
                 if (method.getMethodType() != null) {
                     if (!isInitializationAnnoPresent(md.getLeadingAnnotations()) && isBean(md)
                         && requiresInitializationAnnotation(method.getMethodType().getReturnType())) {
-                        JavaTemplate template = JavaTemplate.builder(this::getCursor, "@DependsOnDatabaseInitialization")
-                                .imports("org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization")
-                                .javaParser(() -> JavaParser.fromJavaVersion()
-                                        .classpathFromResources(ctx, "spring-boot-2.*")
-                                        .build())
-                                .build();
-                        md = md.withTemplate(template, md.getCoordinates().addAnnotation(Comparator.comparing(J.Annotation::getSimpleName)));
-                        maybeAddImport("org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization");
+                        J.Annotation annotation = AnnotationFactory.create(JavaType.ShallowClass.build(FQN_DEPENDS_ON_DATABASE_INITIALIZATION));
+                        md = LeadingAnnotations.add(md, annotation, Comparator.comparing(J.Annotation::getSimpleName), ctx, getCursor().getParentOrThrow());
+                        maybeAddImport(FQN_DEPENDS_ON_DATABASE_INITIALIZATION);
                     }
                 }
                 return md;
@@ -111,14 +100,9 @@ public class DatabaseComponentAndBeanInitializationOrdering extends Recipe {
                 J.ClassDeclaration cd = super.visitClassDeclaration(classDecl, ctx);
                 if (!isInitializationAnnoPresent(cd.getLeadingAnnotations()) && isComponent(cd)
                     && requiresInitializationAnnotation(cd.getType())) {
-                    JavaTemplate template = JavaTemplate.builder(this::getCursor, "@DependsOnDatabaseInitialization")
-                            .imports("org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization")
-                            .javaParser(() -> JavaParser.fromJavaVersion()
-                                    .classpathFromResources(ctx, "spring-boot-2.*")
-                                    .build())
-                            .build();
-                    cd = cd.withTemplate(template, cd.getCoordinates().addAnnotation(Comparator.comparing(J.Annotation::getSimpleName)));
-                    maybeAddImport("org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization");
+                    J.Annotation annotation = AnnotationFactory.create(JavaType.ShallowClass.build(FQN_DEPENDS_ON_DATABASE_INITIALIZATION));
+                    cd = LeadingAnnotations.add(cd, annotation, Comparator.comparing(J.Annotation::getSimpleName), ctx, getCursor().getParentOrThrow());
+                    maybeAddImport(FQN_DEPENDS_ON_DATABASE_INITIALIZATION);
                 }
                 return cd;
             }
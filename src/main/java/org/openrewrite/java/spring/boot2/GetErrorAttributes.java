@@ -20,10 +20,10 @@ import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesMethod;
+import org.openrewrite.java.spring.internal.JavaParserPool;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 
@@ -77,9 +77,7 @@ public class GetErrorAttributes extends Recipe {
                     String template = "#{any(org.springframework.web.context.request.WebRequest)}, ErrorAttributeOptions.defaults().including(ErrorAttributeOptions.Include.STACK_TRACE)";
                     mi = mi.withTemplate(JavaTemplate.builder(this::getCursor, template)
                                     .imports(parserImports)
-                                    .javaParser(() -> JavaParser.fromJavaVersion()
-                                            .classpathFromResources(ctx, "spring-boot-2.*", "spring-boot-autoconfigure-2.*", "spring-web-5.*")
-                                            .build())
+                                    .javaParser(() -> JavaParserPool.fromResources(ctx, "spring-boot-2.*", "spring-boot-autoconfigure-2.*", "spring-web-5.*"))
                                     .build(),
                             mi.getCoordinates().replaceArguments(),
                             mi.getArguments().get(0)
@@ -88,9 +86,7 @@ public class GetErrorAttributes extends Recipe {
                     String template = "#{any(org.springframework.web.context.request.WebRequest)}, ErrorAttributeOptions.defaults()";
                     mi = mi.withTemplate(JavaTemplate.builder(this::getCursor, template)
                                     .imports(parserImports)
-                                    .javaParser(() -> JavaParser.fromJavaVersion()
-                                            .classpathFromResources(ctx, "spring-boot-2.*", "spring-boot-autoconfigure-2.*", "spring-web-5.*")
-                                            .build())
+                                    .javaParser(() -> JavaParserPool.fromResources(ctx, "spring-boot-2.*", "spring-boot-autoconfigure-2.*", "spring-web-5.*"))
                                     .build(),
                             mi.getCoordinates().replaceArguments(),
                             mi.getArguments().get(0)
@@ -99,9 +95,7 @@ public class GetErrorAttributes extends Recipe {
                     String template = "#{any(org.springframework.web.context.request.WebRequest)}, #{any(boolean)} ? ErrorAttributeOptions.defaults().including(ErrorAttributeOptions.Include.STACK_TRACE) : ErrorAttributeOptions.defaults()";
                     mi = mi.withTemplate(JavaTemplate.builder(this::getCursor, template)
                                     .imports(parserImports)
-                                    .javaParser(() -> JavaParser.fromJavaVersion()
-                                            .classpathFromResources(ctx, "spring-boot-2.*", "spring-boot-autoconfigure-2.*", "spring-web-5.*")
-                                            .build())
+                                    .javaParser(() -> JavaParserPool.fromResources(ctx, "spring-boot-2.*", "spring-boot-autoconfigure-2.*", "spring-web-5.*"))
                                     .build(),
                             mi.getCoordinates().replaceArguments(),
                             mi.getArguments().toArray()
@@ -19,9 +19,9 @@ import org.openrewrite.*;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.spring.ExpandProperties;
+import org.openrewrite.java.spring.internal.SpringPropertyIndex;
 import org.openrewrite.yaml.CoalescePropertiesVisitor;
 import org.openrewrite.yaml.MergeYamlVisitor;
-import org.openrewrite.yaml.search.FindProperty;
 import org.openrewrite.yaml.tree.Yaml;
 
 import java.nio.file.Path;
@@ -68,7 +68,7 @@ public class MergeBootstrapYamlWithApplicationYaml extends Recipe {
 
                 //noinspection unchecked
                 return (SourceFile) new CoalescePropertiesVisitor<Integer>().visit(a.withDocuments(ListUtils.map((List<Yaml.Document>) a.getDocuments(), doc -> {
-                    if (merged.compareAndSet(false, true) && FindProperty.find(doc, "spring.config.activate.on-profile", true).isEmpty()) {
+                    if (merged.compareAndSet(false, true) && SpringPropertyIndex.find(doc, "spring.config.activate.on-profile").isEmpty()) {
                         return (Yaml.Document) new MergeYamlVisitor<Integer>(doc.getBlock(), b.getDocuments()
                                 .get(0).getBlock(), true, null).visit(doc, 0, new Cursor(new Cursor(null, a), doc));
                     }
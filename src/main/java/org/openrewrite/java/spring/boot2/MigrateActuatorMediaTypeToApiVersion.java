@@ -18,9 +18,9 @@ package org.openrewrite.java.spring.boot2;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.spring.internal.JavaParserPool;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.TypeUtils;
@@ -62,9 +62,7 @@ public class MigrateActuatorMediaTypeToApiVersion extends Recipe {
                                 maybeAddImport("org.springframework.http.MediaType");
                                 maybeRemoveImport("org.springframework.boot.actuate.endpoint.http.ActuatorMediaType");
                                 mi = mi.withTemplate(JavaTemplate.builder(this::getCursor, "MediaType.asMediaType(ApiVersion.#{}.getProducedMimeType())")
-                                                .javaParser(() -> JavaParser.fromJavaVersion()
-                                                        .classpathFromResources(ctx, "spring-web-5.*", "spring-boot-actuator-2.5.*", "spring-core-5.*")
-                                                        .build())
+                                                .javaParser(() -> JavaParserPool.fromResources(ctx, "spring-web-5.*", "spring-boot-actuator-2.5.*", "spring-core-5.*"))
                                                 .imports("org.springframework.http.MediaType",
                                                         "org.springframework.boot.actuate.endpoint.ApiVersion")
                                                 .build(),
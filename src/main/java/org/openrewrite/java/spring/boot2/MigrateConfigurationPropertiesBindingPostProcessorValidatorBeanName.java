@@ -21,7 +21,7 @@ import org.openrewrite.Tree;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.spring.search.UsesAnyType;
 import org.openrewrite.java.tree.*;
 
 import java.util.Collections;
@@ -42,7 +42,7 @@ public class MigrateConfigurationPropertiesBindingPostProcessorValidatorBeanName
     @Nullable
     @Override
     protected TreeVisitor<?, ExecutionContext> getSingleSourceApplicableTest() {
-        return new UsesType<>("org.springframework.boot.context.properties.ConfigurationPropertiesBindingPostProcessor");
+        return new UsesAnyType<>("org.springframework.boot.context.properties.ConfigurationPropertiesBindingPostProcessor");
     }
 
     @Override
@@ -21,6 +21,7 @@ import org.intellij.lang.annotations.Language;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
+import org.openrewrite.java.spring.internal.SpringPropertyIndex;
 import org.openrewrite.properties.AddProperty;
 import org.openrewrite.properties.PropertiesVisitor;
 import org.openrewrite.properties.search.FindProperties;
@@ -69,8 +70,8 @@ public class MigrateDatabaseCredentials extends Recipe {
             return new YamlVisitor<ExecutionContext>() {
                 @Override
                 public Yaml visitDocuments(Yaml.Documents documents, ExecutionContext executionContext) {
-                    if (FindProperty.find(documents, "spring." + tool + ".username", true).isEmpty() &&
-                            FindProperty.find(documents, "spring." + tool + ".password", true).isEmpty()) {
+                    if (SpringPropertyIndex.find(documents, "spring." + tool + ".username").isEmpty() &&
+                            SpringPropertyIndex.find(documents, "spring." + tool + ".password").isEmpty()) {
                         doAfterVisit(new FindProperty("spring." + tool + ".url", true));
                     }
                     return documents;
@@ -108,8 +109,8 @@ public class MigrateDatabaseCredentials extends Recipe {
             return new PropertiesVisitor<ExecutionContext>() {
                 @Override
                 public Properties visitFile(Properties.File file, ExecutionContext executionContext) {
-                    if (FindProperties.find(file, "spring." + tool + ".username", true).isEmpty() &&
-                            FindProperties.find(file, "spring." + tool + ".password", true).isEmpty()) {
+                    if (SpringPropertyIndex.find(file, "spring." + tool + ".username").isEmpty() &&
+                            SpringPropertyIndex.find(file, "spring." + tool + ".password").isEmpty()) {
                         doAfterVisit(new FindProperties("spring." + tool + ".url", true));
                     }
                     return file;
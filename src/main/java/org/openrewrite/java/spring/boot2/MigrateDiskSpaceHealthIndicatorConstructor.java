@@ -19,10 +19,10 @@ import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.lang.Nullable;
-import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.JavaVisitor;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.spring.internal.JavaParserPool;
+import org.openrewrite.java.spring.search.UsesAnyType;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
 import org.openrewrite.java.tree.TypeUtils;
@@ -42,7 +42,7 @@ public class MigrateDiskSpaceHealthIndicatorConstructor extends Recipe {
     @Nullable
     @Override
     protected TreeVisitor<?, ExecutionContext> getSingleSourceApplicableTest() {
-        return new UsesType<>("org.springframework.boot.actuate.system.DiskSpaceHealthIndicator");
+        return new UsesAnyType<>("org.springframework.boot.actuate.system.DiskSpaceHealthIndicator");
     }
 
     @Override
@@ -61,9 +61,7 @@ public class MigrateDiskSpaceHealthIndicatorConstructor extends Recipe {
                     return newClass.withTemplate(
                             JavaTemplate.builder(this::getCursor, "new DiskSpaceHealthIndicator(#{any(java.io.File)}, DataSize.ofBytes(#{any(long)}))")
                                     .imports("org.springframework.util.unit.DataSize")
-                                    .javaParser(() -> JavaParser.fromJavaVersion()
-                                            .classpathFromResources(ctx, "spring-boot-actuator-2.*", "spring-core-5.*")
-                                            .build())
+                                    .javaParser(() -> JavaParserPool.fromResources(ctx, "spring-boot-actuator-2.*", "spring-core-5.*"))
                                     .build(),
                             newClass.getCoordinates().replace(),
                             newClass.getArguments().get(0),
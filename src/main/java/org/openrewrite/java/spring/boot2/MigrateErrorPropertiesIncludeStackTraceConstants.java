@@ -18,7 +18,7 @@ package org.openrewrite.java.spring.boot2;
 import org.openrewrite.*;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.spring.search.UsesAnyType;
 import org.openrewrite.java.tree.Flag;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
@@ -42,7 +42,7 @@ public class MigrateErrorPropertiesIncludeStackTraceConstants extends Recipe {
     @Nullable
     @Override
     protected TreeVisitor<?, ExecutionContext> getSingleSourceApplicableTest() {
-        return new UsesType<>("org.springframework.boot.autoconfigure.web.ErrorProperties$IncludeStacktrace");
+        return new UsesAnyType<>("org.springframework.boot.autoconfigure.web.ErrorProperties$IncludeStacktrace");
     }
 
     @Override
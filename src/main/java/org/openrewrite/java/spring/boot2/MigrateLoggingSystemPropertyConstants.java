@@ -22,7 +22,7 @@ import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.AddImport;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.spring.search.UsesAnyType;
 import org.openrewrite.java.tree.*;
 
 import java.util.Collections;
@@ -43,7 +43,7 @@ public class MigrateLoggingSystemPropertyConstants extends Recipe {
     @Nullable
     @Override
     protected TreeVisitor<?, ExecutionContext> getSingleSourceApplicableTest() {
-        return new UsesType<>("org.springframework.boot.logging.LoggingSystemProperties");
+        return new UsesAnyType<>("org.springframework.boot.logging.LoggingSystemProperties");
     }
 
     @Override
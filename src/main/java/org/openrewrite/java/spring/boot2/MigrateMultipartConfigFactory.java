@@ -20,10 +20,10 @@ import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.MethodMatcher;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.spring.internal.JavaParserPool;
+import org.openrewrite.java.spring.search.UsesAnyType;
 import org.openrewrite.java.tree.J;
 
 public class MigrateMultipartConfigFactory extends Recipe {
@@ -41,7 +41,7 @@ public class MigrateMultipartConfigFactory extends Recipe {
     @Nullable
     @Override
     protected TreeVisitor<?, ExecutionContext> getSingleSourceApplicableTest() {
-        return new UsesType<>("org.springframework.boot.web.servlet.MultipartConfigFactory");
+        return new UsesAnyType<>("org.springframework.boot.web.servlet.MultipartConfigFactory");
     }
 
     @Override
@@ -63,9 +63,7 @@ public class MigrateMultipartConfigFactory extends Recipe {
                             JavaTemplate
                                     .builder(this::getCursor,"DataSize.ofBytes(#{any()})")
                                     .imports("org.springframework.util.unit.DataSize")
-                                    .javaParser(() -> JavaParser.fromJavaVersion()
-                                            .classpathFromResources(ctx, "spring-core-5.*", "spring-boot-2.*")
-                                            .build())
+                                    .javaParser(() -> JavaParserPool.fromResources(ctx, "spring-core-5.*", "spring-boot-2.*"))
                                     .build(),
                             m.getCoordinates().replaceArguments(),
                             m.getArguments().get(0));
@@ -74,9 +72,7 @@ public class MigrateMultipartConfigFactory extends Recipe {
                             JavaTemplate
                                     .builder(this::getCursor,"DataSize.parse(#{any(java.lang.String)})")
                                     .imports("org.springframework.util.unit.DataSize")
-                                    .javaParser(() -> JavaParser.fromJavaVersion()
-                                            .classpathFromResources(ctx, "spring-core-5.*", "spring-boot-2.*")
-                                            .build())
+                                    .javaParser(() -> JavaParserPool.fromResources(ctx, "spring-core-5.*", "spring-boot-2.*"))
                                     .build(),
                             m.getCoordinates().replaceArguments(),
                             m.getArguments().get(0));
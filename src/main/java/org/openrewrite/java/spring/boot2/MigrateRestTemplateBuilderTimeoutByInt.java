@@ -20,10 +20,10 @@ import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.MethodMatcher;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.spring.internal.JavaParserPool;
+import org.openrewrite.java.spring.search.UsesAnyType;
 import org.openrewrite.java.tree.J;
 
 public class MigrateRestTemplateBuilderTimeoutByInt extends Recipe {
@@ -41,7 +41,7 @@ public class MigrateRestTemplateBuilderTimeoutByInt extends Recipe {
     @Nullable
     @Override
     protected TreeVisitor<?, ExecutionContext> getSingleSourceApplicableTest() {
-        return new UsesType<>("org.springframework.boot.web.client.RestTemplateBuilder");
+        return new UsesAnyType<>("org.springframework.boot.web.client.RestTemplateBuilder");
     }
 
     @Override
@@ -58,9 +58,7 @@ public class MigrateRestTemplateBuilderTimeoutByInt extends Recipe {
                             JavaTemplate
                                     .builder(this::getCursor,"Duration.ofMillis(#{any(int)})")
                                     .imports("java.time.Duration")
-                                    .javaParser(() -> JavaParser.fromJavaVersion()
-                                            .classpathFromResources(ctx, "spring-boot-2.*")
-                                            .build())
+                                    .javaParser(() -> JavaParserPool.fromResources(ctx, "spring-boot-2.*"))
                                     .build(),
                             m.getCoordinates().replaceArguments(),
                             m.getArguments().get(0));
@@ -23,10 +23,11 @@ import org.openrewrite.SourceFile;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
-import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.RemoveAnnotation;
+import org.openrewrite.java.spring.internal.AnnotationFactory;
+import org.openrewrite.java.spring.internal.LeadingAnnotations;
 import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
 import org.openrewrite.marker.Marker;
 import org.openrewrite.text.PlainText;
 import org.openrewrite.text.PlainTextParser;
@@ -38,6 +39,7 @@ import java.util.stream.Collectors;
 public class MoveAutoConfigurationToImportsFile extends Recipe {
     private static final String AUTOCONFIGURATION_FILE = "org.springframework.boot.autoconfigure.AutoConfiguration.imports";
     private static final String ENABLE_AUTO_CONFIG_KEY = "org.springframework.boot.autoconfigure.EnableAutoConfiguration";
+    private static final String FQN_AUTO_CONFIGURATION = "org.springframework.boot.autoconfigure.AutoConfiguration";
 
     @Override
     public String getDisplayName() {
@@ -258,18 +260,12 @@ public class MoveAutoConfigurationToImportsFile extends Recipe {
             J.ClassDeclaration c = super.visitClassDeclaration(classDecl, ctx);
 
             if (c.getType() != null && fullyQualifiedConfigClasses.contains(c.getType().getFullyQualifiedName())) {
-                JavaTemplate addAnnotationTemplate = JavaTemplate.builder(this::getCursor, "@AutoConfiguration")
-                        .javaParser(() -> JavaParser.fromJavaVersion()
-                                .classpathFromResources(ctx, "spring-boot-autoconfigure-2.7.*")
-                                .build())
-                        .imports("org.springframework.boot.autoconfigure.AutoConfiguration")
-                        .doBeforeParseTemplate(System.out::println)
-                        .build();
+                J.Annotation autoConfiguration = AnnotationFactory.create(JavaType.ShallowClass.build(FQN_AUTO_CONFIGURATION));
 
                 doAfterVisit(new RemoveAnnotation("@org.springframework.context.annotation.Configuration"));
 
-                c = c.withTemplate(addAnnotationTemplate, c.getCoordinates().addAnnotation(Comparator.comparing(J.Annotation::getSimpleName)));
-                maybeAddImport("org.springframework.boot.autoconfigure.AutoConfiguration");
+                c = LeadingAnnotations.add(c, autoConfiguration, Comparator.comparing(J.Annotation::getSimpleName), ctx, getCursor().getParentOrThrow());
+                maybeAddImport(FQN_AUTO_CONFIGURATION);
             }
             return c;
         }
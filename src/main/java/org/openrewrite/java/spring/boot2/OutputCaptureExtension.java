@@ -24,11 +24,15 @@ import org.openrewrite.internal.ListUtils;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.*;
 import org.openrewrite.java.search.FindMethods;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.spring.internal.JavaParserPool;
+import org.openrewrite.java.spring.internal.JavaTemplateCache;
+import org.openrewrite.java.spring.internal.LeadingAnnotations;
+import org.openrewrite.java.spring.search.UsesAnyType;
 import org.openrewrite.java.tree.*;
 import org.openrewrite.marker.Markers;
 
 import java.text.RuleBasedCollator;
+import java.util.Arrays;
 import java.util.Comparator;
 
 import static java.util.Collections.emptyList;
@@ -49,14 +53,9 @@ public class OutputCaptureExtension extends Recipe {
     @Nullable
     @Override
     protected TreeVisitor<?, ExecutionContext> getSingleSourceApplicableTest() {
-        return new JavaIsoVisitor<ExecutionContext>() {
-            @Override
-            public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, ExecutionContext executionContext) {
-                doAfterVisit(new UsesType<>("org.springframework.boot.test.system.OutputCaptureRule"));
-                doAfterVisit(new UsesType<>("org.springframework.boot.test.rule.OutputCapture"));
-                return cu;
-            }
-        };
+        return new UsesAnyType<>(
+                "org.springframework.boot.test.system.OutputCaptureRule",
+                "org.springframework.boot.test.rule.OutputCapture");
     }
 
     @Override
@@ -103,20 +102,14 @@ public class OutputCaptureExtension extends Recipe {
                 })));
 
                 if (classDecl.getBody().getStatements().size() != c.getBody().getStatements().size()) {
-                    JavaTemplate addOutputCaptureExtension = JavaTemplate.builder(this::getCursor, "@ExtendWith(OutputCaptureExtension.class)")
-                            .javaParser(() -> JavaParser.fromJavaVersion()
-                                    .classpathFromResources(ctx, "spring-boot-test-2.*", "junit-jupiter-api-5.*")
-                                    .build())
-                            .imports("org.junit.jupiter.api.extension.ExtendWith",
-                                    "org.springframework.boot.test.system.OutputCaptureExtension")
-                            .build();
-
-                    c = c.withTemplate(addOutputCaptureExtension, c.getCoordinates()
-                            .addAnnotation(Comparator.comparing(
-                                    J.Annotation::getSimpleName,
-                                    new RuleBasedCollator("< ExtendWith")
-                            ))
-                    );
+                    J.Annotation extendWith = JavaTemplateCache.annotation(ctx, JavaTemplateCache.Target.CLASS,
+                            "@ExtendWith(OutputCaptureExtension.class)",
+                            Arrays.asList("org.junit.jupiter.api.extension.ExtendWith", "org.springframework.boot.test.system.OutputCaptureExtension"),
+                            "spring-boot-test-2.*", "junit-jupiter-api-5.*");
+                    c = LeadingAnnotations.add(c, extendWith, Comparator.comparing(
+                            J.Annotation::getSimpleName,
+                            new RuleBasedCollator("< ExtendWith")
+                    ), ctx, getCursor().getParentOrThrow());
 
                     maybeAddImport("org.springframework.boot.test.system.OutputCaptureExtension");
                     maybeAddImport("org.junit.jupiter.api.extension.ExtendWith");
@@ -149,9 +142,7 @@ public class OutputCaptureExtension extends Recipe {
             }
 
             JavaTemplate matchesTemplate = JavaTemplate.builder(this::getCursor, "#{any()}.matches(#{}.getAll())")
-                    .javaParser(() -> JavaParser.fromJavaVersion()
-                            .classpathFromResources(ctx, "spring-boot-test-2.*", "junit-jupiter-api-5.*")
-                            .build())
+                    .javaParser(() -> JavaParserPool.fromResources(ctx, "spring-boot-test-2.*", "junit-jupiter-api-5.*"))
                     .build();
             m = m.withTemplate(matchesTemplate, m.getCoordinates().replace(), m.getArguments().get(0), variableName);
             return m;
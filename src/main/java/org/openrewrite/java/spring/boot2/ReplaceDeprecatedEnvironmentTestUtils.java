@@ -20,11 +20,11 @@ import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.SemanticallyEqual;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.spring.internal.JavaParserPool;
+import org.openrewrite.java.spring.search.UsesAnyType;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
@@ -61,7 +61,7 @@ public class ReplaceDeprecatedEnvironmentTestUtils extends Recipe {
     @Nullable
     @Override
     protected TreeVisitor<?, ExecutionContext> getSingleSourceApplicableTest() {
-        return new UsesType<>("org.springframework.boot.test.util.EnvironmentTestUtils");
+        return new UsesAnyType<>("org.springframework.boot.test.util.EnvironmentTestUtils");
     }
 
     private static final class ReplaceEnvironmentUtilsMarker implements Marker {
@@ -257,9 +257,7 @@ public class ReplaceDeprecatedEnvironmentTestUtils extends Recipe {
                 ReplaceEnvironmentUtilsMarker marker = maybeMarker.get();
                 m = m.withTemplate(
                         JavaTemplate.builder(this::getCursor, marker.templateString)
-                                .javaParser(() -> JavaParser.fromJavaVersion()
-                                        .classpathFromResources(ctx, "spring-boot-test-2.*")
-                                        .build())
+                                .javaParser(() -> JavaParserPool.fromResources(ctx, "spring-boot-test-2.*"))
                                 .imports("org.springframework.boot.test.util.TestPropertyValues")
                                 .build(),
                         m.getCoordinates().replace(),
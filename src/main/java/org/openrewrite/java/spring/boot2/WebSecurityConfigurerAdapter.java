@@ -22,7 +22,9 @@ import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.MethodMatcher;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.spring.internal.AnnotationFactory;
+import org.openrewrite.java.spring.internal.LeadingAnnotations;
+import org.openrewrite.java.spring.search.UsesAnyType;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
 import org.openrewrite.java.tree.Space;
@@ -48,10 +50,7 @@ public class WebSecurityConfigurerAdapter extends Recipe {
     private static final String FQN_SECURITY_FILTER_CHAIN = "org.springframework.security.web.SecurityFilterChain";
     private static final String FQN_OVERRIDE = "java.lang.Override";
     private static final String FQN_WEB_SECURITY_CUSTOMIZER = "org.springframework.security.config.annotation.web.configuration.WebSecurityCustomizer";
-    private static final String BEAN_PKG = "org.springframework.context.annotation";
-    private static final String BEAN_SIMPLE_NAME = "Bean";
-    private static final String FQN_BEAN = BEAN_PKG + "." + BEAN_SIMPLE_NAME;
-    private static final String BEAN_ANNOTATION = "@" + BEAN_SIMPLE_NAME;
+    private static final String FQN_BEAN = "org.springframework.context.annotation.Bean";
 
     private static final MethodMatcher CONFIGURE_HTTP_SECURITY_METHOD_MATCHER =
             new MethodMatcher("org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter configure(org.springframework.security.config.annotation.web.builders.HttpSecurity)", true);
@@ -79,7 +78,7 @@ public class WebSecurityConfigurerAdapter extends Recipe {
 
     @Override
     protected TreeVisitor<?, ExecutionContext> getApplicableTest() {
-        return new UsesType<>(FQN_WEB_SECURITY_CONFIGURER_ADAPTER);
+        return new UsesAnyType<>(FQN_WEB_SECURITY_CONFIGURER_ADAPTER);
     }
 
     @Override
@@ -138,7 +137,7 @@ public class WebSecurityConfigurerAdapter extends Recipe {
                                 .withMethodType(type)
                                 .withModifiers(ListUtils.map(m.getModifiers(), modifier -> EXPLICIT_ACCESS_LEVELS.contains(modifier.getType()) ? null : modifier));
 
-                        m = addBeanAnnotation(m, getCursor());
+                        m = addBeanAnnotation(m, context);
                         maybeAddImport(FQN_SECURITY_FILTER_CHAIN);
                     } else if (CONFIGURE_WEB_SECURITY_METHOD_MATCHER.matches(m, classCursor.getValue())) {
                         JavaType securityCustomizerType = JavaType.buildType(FQN_WEB_SECURITY_CUSTOMIZER);
@@ -160,7 +159,7 @@ public class WebSecurityConfigurerAdapter extends Recipe {
                                 .withName(m.getName().withSimpleName("webSecurityCustomizer"))
                                 .withModifiers(ListUtils.map(m.getModifiers(), modifier -> EXPLICIT_ACCESS_LEVELS.contains(modifier.getType()) ? null : modifier));
 
-                        m = addBeanAnnotation(m, getCursor());
+                        m = addBeanAnnotation(m, context);
                         maybeAddImport(FQN_WEB_SECURITY_CUSTOMIZER);
                     }
                 }
@@ -201,11 +200,10 @@ public class WebSecurityConfigurerAdapter extends Recipe {
                 return b;
             }
 
-            private J.MethodDeclaration addBeanAnnotation(J.MethodDeclaration m, Cursor c) {
+            private J.MethodDeclaration addBeanAnnotation(J.MethodDeclaration m, ExecutionContext context) {
                 maybeAddImport(FQN_BEAN);
-                JavaTemplate template = JavaTemplate.builder(() -> c, BEAN_ANNOTATION).imports(FQN_BEAN).javaParser(() -> JavaParser.fromJavaVersion()
-                        .dependsOn("package " + BEAN_PKG + "; public @interface " + BEAN_SIMPLE_NAME + " {}").build()).build();
-                return m.withTemplate(template, m.getCoordinates().addAnnotation(Comparator.comparing(J.Annotation::getSimpleName)));
+                J.Annotation bean = AnnotationFactory.create(JavaType.ShallowClass.build(FQN_BEAN));
+                return LeadingAnnotations.add(m, bean, Comparator.comparing(J.Annotation::getSimpleName), context, getCursor().getParentOrThrow());
             }
 
         };
@@ -17,15 +17,11 @@ package org.openrewrite.java.spring.boot3;
 
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
-import org.openrewrite.SourceFile;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.internal.ListUtils;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.search.FindAnnotations;
+import org.openrewrite.java.spring.internal.LeadingAnnotations;
 import org.openrewrite.java.tree.J;
-import org.openrewrite.java.tree.TypeUtils;
-
-import java.util.List;
 
 public class RemoveEnableBatchProcessing extends Recipe {
 
@@ -39,11 +35,6 @@ public class RemoveEnableBatchProcessing extends Recipe {
         return "Add or remove the `@EnableBatchProcessing` annotation from a Spring Boot application.";
     }
 
-    @Override
-    protected List<SourceFile> visit(List<SourceFile> before, ExecutionContext ctx) {
-        return super.visit(before, ctx);
-    }
-
     @Override
     protected TreeVisitor<?, ExecutionContext> getVisitor() {
         return new JavaIsoVisitor<ExecutionContext>() {
@@ -52,12 +43,7 @@ public class RemoveEnableBatchProcessing extends Recipe {
             public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
                 if (!FindAnnotations.find(classDecl, "org.springframework.boot.autoconfigure.SpringBootApplication").isEmpty() &&
                     !FindAnnotations.find(classDecl, "org.springframework.batch.core.configuration.annotation.EnableBatchProcessing").isEmpty()) {
-                    return classDecl.withLeadingAnnotations(ListUtils.map(classDecl.getLeadingAnnotations(), a -> {
-                        if (TypeUtils.isOfClassType(a.getType(), "org.springframework.batch.core.configuration.annotation.EnableBatchProcessing")) {
-                            return null;
-                        }
-                        return a;
-                    }));
+                    return LeadingAnnotations.remove(classDecl, "org.springframework.batch.core.configuration.annotation.EnableBatchProcessing");
                 }
                 return super.visitClassDeclaration(classDecl, ctx);
             }
@@ -19,10 +19,10 @@ import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.lang.Nullable;
-import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.JavaVisitor;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.spring.internal.JavaParserPool;
+import org.openrewrite.java.spring.search.UsesAnyType;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.TypeUtils;
 
@@ -44,7 +44,7 @@ public class MigrateJpaSort extends Recipe {
     @Nullable
     @Override
     protected TreeVisitor<?, ExecutionContext> getSingleSourceApplicableTest() {
-        return new UsesType<>("org.springframework.data.jpa.domain.JpaSort");
+        return new UsesAnyType<>("org.springframework.data.jpa.domain.JpaSort");
     }
 
     @Override
@@ -62,10 +62,8 @@ public class MigrateJpaSort extends Recipe {
 
                     return newClass.withTemplate(
                             JavaTemplate.builder(this::getCursor, template)
-                                    .javaParser(() -> JavaParser.fromJavaVersion()
-                                            .classpathFromResources(ctx, "spring-data-commons-2.*",
-                                                    "spring-data-jpa-2.3.*", "javax.persistence-api-2.*")
-                                            .build())
+                                    .javaParser(() -> JavaParserPool.fromResources(ctx, "spring-data-commons-2.*",
+                                                    "spring-data-jpa-2.3.*", "javax.persistence-api-2.*"))
                                     .imports("org.springframework.data.jpa.domain.JpaSort")
                                     .doBeforeParseTemplate(System.out::println)
                                     .build(),
@@ -20,10 +20,10 @@ import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.ChangeType;
-import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.JavaVisitor;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.spring.internal.JavaParserPool;
+import org.openrewrite.java.spring.search.UsesAnyType;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
 import org.openrewrite.java.tree.TypeTree;
@@ -45,7 +45,7 @@ public class MigrateQuerydslJpaRepository extends Recipe {
     @Nullable
     @Override
     protected TreeVisitor<?, ExecutionContext> getSingleSourceApplicableTest() {
-        return new UsesType<>("org.springframework.data.jpa.repository.support.QuerydslJpaRepository");
+        return new UsesAnyType<>("org.springframework.data.jpa.repository.support.QuerydslJpaRepository");
     }
 
     @Override
@@ -83,13 +83,11 @@ public class MigrateQuerydslJpaRepository extends Recipe {
                     return newClass.withTemplate(
                             JavaTemplate.builder(this::getCursor, template)
                                     .imports(targetFqn)
-                                    .javaParser(() -> JavaParser.fromJavaVersion()
-                                            .classpathFromResources(ctx,
+                                    .javaParser(() -> JavaParserPool.fromResources(ctx,
                                                     "javax.persistence-api-2.*",
                                                     "spring-data-commons-2.*",
                                                     "spring-data-jpa-2.*"
-                                            )
-                                            .build())
+                                            ))
                                     .build(),
                             newClass.getCoordinates().replace(),
                             newClass.getArguments().get(0),
@@ -18,21 +18,20 @@ package org.openrewrite.java.spring.data;
 import lombok.EqualsAndHashCode;
 import lombok.Value;
 import org.openrewrite.*;
-import org.openrewrite.internal.NameCaseConvention;
 import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.spring.internal.SpringPropertyIndex;
 import org.openrewrite.marker.SearchResult;
 import org.openrewrite.properties.PropertiesIsoVisitor;
 import org.openrewrite.properties.PropertiesVisitor;
-import org.openrewrite.properties.search.FindProperties;
 import org.openrewrite.properties.tree.Properties;
-import org.openrewrite.yaml.JsonPathMatcher;
 import org.openrewrite.yaml.YamlIsoVisitor;
 import org.openrewrite.yaml.YamlVisitor;
-import org.openrewrite.yaml.search.FindProperty;
 import org.openrewrite.yaml.tree.Yaml;
 
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Collections;
+import java.util.Set;
 
 @Value
 @EqualsAndHashCode(callSuper = false)
@@ -134,7 +133,7 @@ public class UseTlsJdbcConnectionString extends Recipe {
             return new YamlVisitor<ExecutionContext>() {
                 @Override
                 public Yaml visitDocuments(Yaml.Documents documents, ExecutionContext ctx) {
-                    if (!FindProperty.find(documents, propertyKey, true).isEmpty()) {
+                    if (!SpringPropertyIndex.find(documents, propertyKey).isEmpty()) {
                         return SearchResult.found(documents);
                     }
                     return documents;
@@ -145,13 +144,19 @@ public class UseTlsJdbcConnectionString extends Recipe {
         @Override
         protected TreeVisitor<?, ExecutionContext> getVisitor() {
             return new YamlIsoVisitor<ExecutionContext>() {
-                final JsonPathMatcher jdbcUrl = new JsonPathMatcher("$." + propertyKey);
+                Set<Yaml.Block> jdbcUrls = Collections.emptySet();
+
+                @Override
+                public Yaml.Documents visitDocuments(Yaml.Documents documents, ExecutionContext ctx) {
+                    jdbcUrls = SpringPropertyIndex.find(documents, propertyKey);
+                    return super.visitDocuments(documents, ctx);
+                }
 
                 @Override
                 public Yaml.Mapping.Entry visitMappingEntry(Yaml.Mapping.Entry entry, ExecutionContext ctx) {
                     Yaml.Mapping.Entry e = super.visitMappingEntry(entry, ctx);
 
-                    if (jdbcUrl.matches(getCursor())) {
+                    if (jdbcUrls.contains(entry.getValue()) && e.getValue() instanceof Yaml.Scalar) {
                         String connectionString = ((Yaml.Scalar) e.getValue()).getValue();
                         try {
                             URI jdbcUrl = URI.create(connectionString);
@@ -197,7 +202,7 @@ public class UseTlsJdbcConnectionString extends Recipe {
             return new PropertiesVisitor<ExecutionContext>() {
                 @Override
                 public Properties visitFile(Properties.File file, ExecutionContext ctx) {
-                    if (!FindProperties.find(file, propertyKey, true).isEmpty()) {
+                    if (!SpringPropertyIndex.find(file, propertyKey).isEmpty()) {
                         return SearchResult.found(file);
                     }
                     return file;
@@ -208,11 +213,19 @@ public class UseTlsJdbcConnectionString extends Recipe {
         @Override
         protected TreeVisitor<?, ExecutionContext> getVisitor() {
             return new PropertiesIsoVisitor<ExecutionContext>() {
+                Set<Properties.Entry> jdbcUrls = Collections.emptySet();
+
+                @Override
+                public Properties.File visitFile(Properties.File file, ExecutionContext ctx) {
+                    jdbcUrls = SpringPropertyIndex.find(file, propertyKey);
+                    return super.visitFile(file, ctx);
+                }
+
                 @Override
                 public Properties.Entry visitEntry(Properties.Entry entry, ExecutionContext ctx) {
                     Properties.Entry e = super.visitEntry(entry, ctx);
 
-                    if (NameCaseConvention.equalsRelaxedBinding(entry.getKey(), propertyKey)) {
+                    if (jdbcUrls.contains(entry)) {
                         String connectionString = entry.getValue().getText();
                         try {
                             URI jdbcUrl = URI.create(connectionString);
@@ -20,10 +20,10 @@ import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesMethod;
+import org.openrewrite.java.spring.internal.JavaParserPool;
 import org.openrewrite.java.tree.J;
 
 import java.util.stream.Collectors;
@@ -60,9 +60,7 @@ public class EnvironmentAcceptsProfiles extends Recipe {
                 String template = "Profiles.of(" + method.getArguments().stream().map(a -> "#{any(java.lang.String)}").collect(Collectors.joining(",")) + ")";
                 method = method.withTemplate(JavaTemplate.builder(this::getCursor, template)
                                 .imports("org.springframework.core.env.Profiles", "org.springframework.core.env.Environment")
-                                .javaParser(() -> JavaParser.fromJavaVersion()
-                                        .classpathFromResources(ctx, "spring-core-5.*")
-                                        .build())
+                                .javaParser(() -> JavaParserPool.fromResources(ctx, "spring-core-5.*"))
                                 .build(),
                         method.getCoordinates().replaceArguments(),
                         method.getArguments().toArray()
@@ -20,7 +20,7 @@ import org.openrewrite.Recipe;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.MethodMatcher;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.spring.search.UsesAnyType;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
@@ -41,8 +41,8 @@ public class JdbcTemplateObjectArrayArgToVarArgs extends Recipe {
     }
 
     @Override
-    protected UsesType<ExecutionContext> getSingleSourceApplicableTest() {
-        return new UsesType<>("org.springframework.jdbc.core.JdbcTemplate");
+    protected UsesAnyType<ExecutionContext> getSingleSourceApplicableTest() {
+        return new UsesAnyType<>("org.springframework.jdbc.core.JdbcTemplate");
     }
 
     @Override
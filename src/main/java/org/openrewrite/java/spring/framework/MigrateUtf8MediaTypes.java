@@ -20,7 +20,7 @@ import org.openrewrite.Recipe;
 import org.openrewrite.Tree;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.search.UsesType;
+import org.openrewrite.java.spring.search.UsesAnyType;
 import org.openrewrite.java.tree.*;
 
 import java.util.Collections;
@@ -43,7 +43,7 @@ public class MigrateUtf8MediaTypes extends Recipe {
 
     @Override
     protected TreeVisitor<?, ExecutionContext> getSingleSourceApplicableTest() {
-        return new UsesType<>("org.springframework.http.MediaType");
+        return new UsesAnyType<>("org.springframework.http.MediaType");
     }
 
     @Override
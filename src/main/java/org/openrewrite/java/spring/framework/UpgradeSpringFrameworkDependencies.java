@@ -21,6 +21,7 @@ import org.openrewrite.*;
 import org.openrewrite.maven.UpgradeDependencyVersion;
 import org.openrewrite.semver.Semver;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @Value
@@ -48,8 +49,18 @@ public class UpgradeSpringFrameworkDependencies extends Recipe {
         return validated;
     }
 
+    /**
+     * The dependency upgrades are derived from the options whenever they are asked for, rather than scheduled with
+     * {@link #doNext(Recipe)} when the recipe is constructed or visited, so that they are neither scheduled again on
+     * every visit nor computed from an invalid version before {@link #validate()} has reported it.
+     */
     @Override
-    protected List<SourceFile> visit(List<SourceFile> before, ExecutionContext ctx) {
+    public List<Recipe> getRecipeList() {
+        List<Recipe> recipeList = new ArrayList<>(super.getRecipeList());
+        if (newVersion == null) {
+            return recipeList;
+        }
+
         String[] artifacts51 = new String[]{
                 "spring-bom",
                 "spring-aop",
@@ -75,12 +86,11 @@ public class UpgradeSpringFrameworkDependencies extends Recipe {
                 "spring-websocket"};
 
         for (String artifact : artifacts51) {
-            doNext(new UpgradeDependencyVersion("org.springframework", artifact, newVersion, null, false));
+            recipeList.add(new UpgradeDependencyVersion("org.springframework", artifact, newVersion, null, false));
         }
         if (newVersion.startsWith("5.3")) {
-            doNext(new UpgradeDependencyVersion("org.springframework", "spring-r2dbc", newVersion, null, false));
+            recipeList.add(new UpgradeDependencyVersion("org.springframework", "spring-r2dbc", newVersion, null, false));
         }
-
-        return super.visit(before, ctx);
+        return recipeList;
     }
 }
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import org.openrewrite.Tree;
+import org.openrewrite.java.tree.*;
+import org.openrewrite.marker.Markers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds annotations directly as LST nodes, for recipes that add an annotation whose type is known up front, without
+ * the cost of a {@link org.openrewrite.java.JavaTemplate} and its parser.
+ * <P>
+ * The annotation refers to its type by simple name, so the recipe adding it is responsible for the import, typically
+ * with {@code maybeAddImport(type.getFullyQualifiedName())}. Arguments may be strings, booleans, characters, ints,
+ * longs or finite doubles.
+ */
+public final class AnnotationFactory {
+
+    private AnnotationFactory() {
+    }
+
+    /**
+     * @param type The type of the annotation, like {@code JavaType.ShallowClass.build("org.springframework.context.annotation.Bean")}.
+     * @return A marker annotation, with an empty prefix.
+     */
+    public static J.Annotation create(JavaType.FullyQualified type) {
+        return create(type, Collections.emptyMap());
+    }
+
+    /**
+     * @param type      The type of the annotation.
+     * @param arguments The arguments of the annotation, by attribute name, in order. A single argument named
+     *                  {@code value} is written without its name.
+     * @return An annotation with the arguments, with an empty prefix.
+     */
+    public static J.Annotation create(JavaType.FullyQualified type, Map<String, ?> arguments) {
+        J.Identifier annotationType = new J.Identifier(Tree.randomId(), Space.EMPTY, Markers.EMPTY, type.getClassName(), type, null);
+        if (arguments.isEmpty()) {
+            return new J.Annotation(Tree.randomId(), Space.EMPTY, Markers.EMPTY, annotationType, null);
+        }
+
+        List<JRightPadded<Expression>> elements = new ArrayList<>(arguments.size());
+        for (Map.Entry<String, ?> argument : arguments.entrySet()) {
+            Space prefix = elements.isEmpty() ? Space.EMPTY : Space.format(" ");
+            J.Literal value = literal(argument.getValue());
+            if (arguments.size() == 1 && "value".equals(argument.getKey())) {
+                elements.add(JRightPadded.build(value));
+            } else {
+                elements.add(JRightPadded.build(new J.Assignment(
+                        Tree.randomId(),
+                        prefix,
+                        Markers.EMPTY,
+                        new J.Identifier(Tree.randomId(), Space.EMPTY, Markers.EMPTY, argument.getKey(), null, null),
+                        new JLeftPadded<>(Space.format(" "), value.withPrefix(Space.format(" ")), Markers.EMPTY),
+                        value.getType())));
+            }
+        }
+        return new J.Annotation(Tree.randomId(), Space.EMPTY, Markers.EMPTY, annotationType,
+                JContainer.build(Space.EMPTY, elements, Markers.EMPTY));
+    }
+
+    private static J.Literal literal(Object value) {
+        String valueSource;
+        JavaType.Primitive type;
+        if (value instanceof String) {
+            valueSource = "\"" + escape((String) value, '"') + "\"";
+            type = JavaType.Primitive.String;
+        } else if (value instanceof Boolean) {
+            valueSource = value.toString();
+            type = JavaType.Primitive.Boolean;
+        } else if (value instanceof Character) {
+            valueSource = "'" + escape(value.toString(), '\'') + "'";
+            type = JavaType.Primitive.Char;
+        } else if (value instanceof Integer) {
+            valueSource = value.toString();
+            type = JavaType.Primitive.Int;
+        } else if (value instanceof Long) {
+            valueSource = value + "L";
+            type = JavaType.Primitive.Long;
+        } else if (value instanceof Double) {
+            if (((Double) value).isNaN() || ((Double) value).isInfinite()) {
+                throw new IllegalArgumentException("Annotation argument '" + value + "' has no literal form");
+            }
+            valueSource = value.toString();
+            type = JavaType.Primitive.Double;
+        } else {
+            throw new IllegalArgumentException("Unsupported annotation argument '" + value + "'");
+        }
+        return new J.Literal(Tree.randomId(), Space.EMPTY, Markers.EMPTY, value, valueSource, null, type);
+    }
+
+    private static String escape(String value, char quote) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            if (c == '\\' || c == quote) {
+                escaped.append('\\').append(c);
+            } else if (c == '\n') {
+                escaped.append("\\n");
+            } else if (c == '\r') {
+                escaped.append("\\r");
+            } else if (c == '\t') {
+                escaped.append("\\t");
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+}
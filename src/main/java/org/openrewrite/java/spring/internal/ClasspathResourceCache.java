@@ -0,0 +1,315 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import lombok.Value;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.spring.SpringExecutionContextView;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A persistent cache of the jars bundled in `META-INF/rewrite/classpath`, shared by every JVM that runs these recipes,
+ * so that a jar is extracted once rather than once per JVM.
+ * <P>
+ * Each jar is stored in a directory named after its checksum and size, so a changed jar never collides with an
+ * earlier version of it. A jar is written to a temporary file and atomically renamed into place, so concurrent
+ * processes populating the same entry never observe a partial jar. Whenever a jar is added, the least recently used
+ * entries are evicted until the cache fits in {@link SpringExecutionContextView#getClasspathCacheMaxSize()}, except for
+ * the entries whose jars are {@link #retain(Collection) retained} by pooled parsers in this JVM. Since other processes
+ * can't tell this one which jars they use, an entry is also kept until it has not been used for
+ * {@link #MIN_ENTRY_AGE}, and while another process may still be writing a jar to it.
+ */
+public final class ClasspathResourceCache {
+    private static final String CLASSPATH_RESOURCES = "META-INF/rewrite/classpath";
+
+    /**
+     * How long an entry must have gone unused before it may be evicted, so that the jars on the classpath of parsers in
+     * other processes aren't deleted from under them.
+     */
+    static final Duration MIN_ENTRY_AGE = Duration.ofHours(1);
+
+    /**
+     * How long a temporary file may be in the middle of being written to by another process. Older temporary files are
+     * left over by processes that died while populating an entry.
+     */
+    private static final Duration TEMPORARY_FILE_GRACE_PERIOD = Duration.ofMinutes(10);
+
+    /**
+     * The jars on the classpath of the parsers that outlive the call that resolved them, each with the number of those
+     * parsers, which are never evicted.
+     */
+    private static final Map<Path, Integer> RETAINED = new ConcurrentHashMap<>();
+
+    @Nullable
+    private static volatile List<BundledJar> bundledJars;
+
+    private ClasspathResourceCache() {
+    }
+
+    /**
+     * The equivalent of {@link JavaParser#dependenciesFromResources(ExecutionContext, String...)}, resolving the jars
+     * from the {@link SpringExecutionContextView#getClasspathCacheDirectory() cache directory}. Falls back to extracting
+     * the jars to temporary files if the cache directory can't be used.
+     */
+    public static List<Path> dependenciesFromResources(ExecutionContext ctx, String... artifactNamesWithVersions) {
+        SpringExecutionContextView springCtx = SpringExecutionContextView.view(ctx);
+        Path cacheDirectory = springCtx.getClasspathCacheDirectory();
+        try {
+            List<Path> classpath = new ArrayList<>(artifactNamesWithVersions.length);
+            boolean added = false;
+            for (String artifactName : artifactNamesWithVersions) {
+                Pattern jarPattern = Pattern.compile(artifactName + "-?.*\\.jar$");
+                boolean found = false;
+                for (BundledJar jar : bundledJars()) {
+                    if (jarPattern.matcher(jar.getName()).matches()) {
+                        found = true;
+                        Path cached = cacheDirectory.resolve(jar.getChecksum()).resolve(jar.getName());
+                        if (Files.isRegularFile(cached) && Files.size(cached) == jar.getSize()) {
+                            // the entry directory's timestamp records when the entry was last used
+                            Files.setLastModifiedTime(cached.getParent(), FileTime.fromMillis(System.currentTimeMillis()));
+                        } else {
+                            populate(jar, cached);
+                            added = true;
+                        }
+                        classpath.add(cached);
+                    }
+                }
+                if (!found) {
+                    ctx.getOnError().accept(new IllegalArgumentException("Unable to find classpath resource dependencies beginning with: '" + artifactName + "'"));
+                }
+            }
+            if (added) {
+                evict(cacheDirectory, springCtx.getClasspathCacheMaxSize(), classpath);
+            }
+            return classpath;
+        } catch (IOException | UncheckedIOException | URISyntaxException e) {
+            ctx.getOnError().accept(e);
+            return JavaParser.dependenciesFromResources(ctx, artifactNamesWithVersions);
+        }
+    }
+
+    /**
+     * Protects jars from eviction until they are {@link #release(Collection) released}, because a parser keeps them on
+     * its classpath.
+     */
+    static void retain(Collection<Path> classpath) {
+        for (Path jar : classpath) {
+            RETAINED.merge(jar, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Undoes one {@link #retain(Collection)} of the jars, once the parser that kept them on its classpath is dropped.
+     */
+    static void release(Collection<Path> classpath) {
+        for (Path jar : classpath) {
+            RETAINED.computeIfPresent(jar, (j, parsers) -> parsers == 1 ? null : parsers - 1);
+        }
+    }
+
+    static boolean isRetained(Path jar) {
+        return RETAINED.containsKey(jar);
+    }
+
+    private static void populate(BundledJar jar, Path cached) throws IOException {
+        Files.createDirectories(cached.getParent());
+        Path temp = Files.createTempFile(cached.getParent(), jar.getName(), ".tmp");
+        try {
+            try (InputStream in = jar.open()) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            try {
+                Files.move(temp, cached, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, cached, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void evict(Path cacheDirectory, long maxSize, List<Path> inUse) throws IOException {
+        List<Path> entries = new ArrayList<>();
+        Map<Path, Long> sizes = new HashMap<>();
+        long totalSize = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(cacheDirectory, Files::isDirectory)) {
+            for (Path entry : stream) {
+                long size = 0;
+                try (Stream<Path> files = Files.list(entry)) {
+                    for (Path file : (Iterable<Path>) files::iterator) {
+                        size += Files.size(file);
+                    }
+                }
+                entries.add(entry);
+                sizes.put(entry, size);
+                totalSize += size;
+            }
+        }
+        if (totalSize <= maxSize) {
+            return;
+        }
+
+        Map<Path, FileTime> lastUsed = new HashMap<>();
+        for (Path entry : entries) {
+            lastUsed.put(entry, Files.getLastModifiedTime(entry));
+        }
+        entries.sort(Comparator.comparing(lastUsed::get));
+        long now = System.currentTimeMillis();
+        for (Path entry : entries) {
+            if (totalSize <= maxSize) {
+                break;
+            }
+            if (now - lastUsed.get(entry).toMillis() < MIN_ENTRY_AGE.toMillis() ||
+                inUse.stream().anyMatch(jar -> jar.startsWith(entry)) ||
+                RETAINED.keySet().stream().anyMatch(jar -> jar.startsWith(entry))) {
+                continue;
+            }
+            try (Stream<Path> files = Files.list(entry)) {
+                List<Path> entryFiles = files.collect(Collectors.toList());
+                if (entryFiles.stream().anyMatch(file -> isBeingWritten(file, now))) {
+                    continue;
+                }
+                for (Path file : entryFiles) {
+                    Files.deleteIfExists(file);
+                }
+                Files.deleteIfExists(entry);
+                totalSize -= sizes.get(entry);
+            } catch (IOException ignored) {
+                // another process is evicting or repopulating the same entry
+            }
+        }
+    }
+
+    private static boolean isBeingWritten(Path file, long now) {
+        try {
+            return file.getFileName().toString().endsWith(".tmp") &&
+                   now - Files.getLastModifiedTime(file).toMillis() < TEMPORARY_FILE_GRACE_PERIOD.toMillis();
+        } catch (IOException e) {
+            // the temporary file was renamed into place or deleted meanwhile
+            return false;
+        }
+    }
+
+    private static List<BundledJar> bundledJars() throws IOException, URISyntaxException {
+        List<BundledJar> jars = bundledJars;
+        if (jars == null) {
+            jars = new ArrayList<>();
+            Enumeration<URL> locations = ClasspathResourceCache.class.getClassLoader().getResources(CLASSPATH_RESOURCES);
+            while (locations.hasMoreElements()) {
+                URL location = locations.nextElement();
+                if ("jar".equals(location.getProtocol())) {
+                    Path recipeJar = Paths.get(((JarURLConnection) location.openConnection()).getJarFileURL().toURI());
+                    try (JarFile jarFile = new JarFile(recipeJar.toFile())) {
+                        for (JarEntry entry : Collections.list(jarFile.entries())) {
+                            String entryName = entry.getName();
+                            if (entryName.startsWith(CLASSPATH_RESOURCES + "/") && entryName.endsWith(".jar")) {
+                                // the zip directory records the checksum of every entry, so it costs nothing to read
+                                jars.add(new BundledJar(entryName.substring(entryName.lastIndexOf('/') + 1), entry.getSize(),
+                                        String.format("%08x-%d", entry.getCrc(), entry.getSize()), recipeJar, entryName));
+                            }
+                        }
+                    }
+                } else if ("file".equals(location.getProtocol())) {
+                    try (DirectoryStream<Path> stream = Files.newDirectoryStream(Paths.get(location.toURI()), "*.jar")) {
+                        for (Path jar : stream) {
+                            long size = Files.size(jar);
+                            jars.add(new BundledJar(jar.getFileName().toString(), size, sha256(jar) + "-" + size, jar, null));
+                        }
+                    }
+                }
+            }
+            bundledJars = jars;
+        }
+        return jars;
+    }
+
+    private static String sha256(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Every Java platform supports SHA-256", e);
+        }
+        byte[] buffer = new byte[8192];
+        try (InputStream in = Files.newInputStream(file)) {
+            for (int read = in.read(buffer); read != -1; read = in.read(buffer)) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    @Value
+    private static class BundledJar {
+        String name;
+        long size;
+
+        /**
+         * Identifies the content of the jar, which names its entry in the cache directory.
+         */
+        String checksum;
+
+        /**
+         * Either the jar itself, or the recipe jar it is bundled in.
+         */
+        Path location;
+
+        /**
+         * The name of the jar's entry in the recipe jar, or null if the location is the jar itself.
+         */
+        @Nullable
+        String entryName;
+
+        InputStream open() throws IOException {
+            if (entryName == null) {
+                return Files.newInputStream(location);
+            }
+            JarFile jarFile = new JarFile(location.toFile());
+            return new FilterInputStream(jarFile.getInputStream(jarFile.getJarEntry(entryName))) {
+                @Override
+                public void close() throws IOException {
+                    super.close();
+                    jarFile.close();
+                }
+            };
+        }
+    }
+}
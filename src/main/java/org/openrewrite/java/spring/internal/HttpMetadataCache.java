@@ -0,0 +1,233 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.spring.SpringRepositories;
+
+import java.io.*;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Properties;
+
+/**
+ * A persistent cache of small repository metadata documents, like directory listings, so that every JVM after the
+ * first resolves versions from disk rather than from the network.
+ * <P>
+ * A document younger than the time to live is served from disk without any request. An older one is revalidated with
+ * {@code If-None-Match} and {@code If-Modified-Since}, so an unchanged document costs a single empty response. If the
+ * document can't be fetched for any reason, or the cache is offline, the cached document is served however old it is,
+ * so version resolution keeps working offline once a document has been fetched. Documents in `file://` repositories are read
+ * directly.
+ * <P>
+ * Requests are made with {@link HttpURLConnection} rather than {@link org.openrewrite.ipc.http.HttpSender}, whose
+ * responses don't expose the validators this relies on.
+ */
+class HttpMetadataCache {
+    private static final String ETAG = "etag";
+    private static final String LAST_MODIFIED = "lastModified";
+    private static final String FETCHED = "fetched";
+
+    private final Path directory;
+    private final Duration timeToLive;
+    private final boolean offline;
+
+    HttpMetadataCache(Path directory, Duration timeToLive) {
+        this(directory, timeToLive, false);
+    }
+
+    /**
+     * @param offline Whether to serve documents only from the cache, however old they are.
+     */
+    HttpMetadataCache(Path directory, Duration timeToLive, boolean offline) {
+        this.directory = directory;
+        this.timeToLive = timeToLive;
+        this.offline = offline;
+    }
+
+    /**
+     * @param url The document to fetch.
+     * @return The document, or null if the repository has no such document.
+     * @throws IOException If the document can neither be fetched nor served from the cache.
+     */
+    @Nullable
+    byte[] get(String url) throws IOException {
+        if (SpringRepositories.isLocal(url)) {
+            // a local document is as cheap to read as its cached copy
+            Path file = Paths.get(URI.create(url));
+            return Files.isRegularFile(file) ? Files.readAllBytes(file) : null;
+        }
+
+        String key = key(url);
+        Path body = directory.resolve(key);
+        Path validators = directory.resolve(key + ".properties");
+        Properties cached = readValidators(validators);
+        boolean hasCached = cached != null && Files.isRegularFile(body);
+
+        if (hasCached && (offline || System.currentTimeMillis() - fetchedAt(cached) < timeToLive.toMillis())) {
+            return Files.readAllBytes(body);
+        } else if (offline) {
+            throw new IOException("Unable to fetch " + url + " offline, as it has not been cached");
+        }
+
+        try {
+            return fetch(url, hasCached ? cached : null, body, validators);
+        } catch (IOException e) {
+            // whether the repository is unreachable, failing, or drops the connection midway, a stale document beats none
+            if (hasCached) {
+                return Files.readAllBytes(body);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * @param cached The validators of the cached document, or null if there is none.
+     */
+    @Nullable
+    private byte[] fetch(String url, @Nullable Properties cached, Path body, Path validators) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        try {
+            connection.setConnectTimeout(10_000);
+            connection.setReadTimeout(30_000);
+            if (cached != null) {
+                if (cached.getProperty(ETAG) != null) {
+                    connection.setRequestProperty("If-None-Match", cached.getProperty(ETAG));
+                }
+                if (cached.getProperty(LAST_MODIFIED) != null) {
+                    connection.setRequestProperty("If-Modified-Since", cached.getProperty(LAST_MODIFIED));
+                }
+            }
+            int code = connection.getResponseCode();
+
+            if (code == HttpURLConnection.HTTP_NOT_MODIFIED && cached != null) {
+                cached.setProperty(FETCHED, Long.toString(System.currentTimeMillis()));
+                try {
+                    writeValidators(validators, cached);
+                } catch (IOException ignored) {
+                    // the document is still served, only the next run has to revalidate it again
+                }
+                return Files.readAllBytes(body);
+            } else if (code == HttpURLConnection.HTTP_NOT_FOUND) {
+                return null;
+            } else if (code / 100 != 2) {
+                throw new IOException("Unexpected code " + code + " fetching " + url);
+            }
+
+            byte[] bytes;
+            try (InputStream in = connection.getInputStream()) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] buffer = new byte[8192];
+                for (int n = in.read(buffer); n != -1; n = in.read(buffer)) {
+                    out.write(buffer, 0, n);
+                }
+                bytes = out.toByteArray();
+            }
+
+            Properties fetched = new Properties();
+            fetched.setProperty("url", url);
+            fetched.setProperty(FETCHED, Long.toString(System.currentTimeMillis()));
+            if (connection.getHeaderField("ETag") != null) {
+                fetched.setProperty(ETAG, connection.getHeaderField("ETag"));
+            }
+            if (connection.getHeaderField("Last-Modified") != null) {
+                fetched.setProperty(LAST_MODIFIED, connection.getHeaderField("Last-Modified"));
+            }
+            try {
+                Files.createDirectories(directory);
+                write(body, bytes);
+                writeValidators(validators, fetched);
+            } catch (IOException ignored) {
+                // the document is still served, only the next run has to fetch it again
+            }
+            return bytes;
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    /**
+     * @return When the cached document was last fetched or revalidated, or the epoch if the validators are corrupt, so
+     * that a corrupt entry is stale.
+     */
+    private static long fetchedAt(Properties cached) {
+        try {
+            return Long.parseLong(cached.getProperty(FETCHED, "0"));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    @Nullable
+    private static Properties readValidators(Path validators) {
+        if (!Files.isRegularFile(validators)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(validators, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+            return properties;
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void writeValidators(Path validators, Properties properties) throws IOException {
+        StringWriter writer = new StringWriter();
+        properties.store(writer, null);
+        write(validators, writer.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes to a temporary file that is atomically renamed into place, so a concurrent reader never observes a
+     * partial document.
+     */
+    private static void write(Path file, byte[] bytes) throws IOException {
+        Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, bytes);
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static String key(String url) {
+        try {
+            StringBuilder key = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-1").digest(url.getBytes(StandardCharsets.UTF_8))) {
+                key.append(String.format("%02x", b));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import lombok.Value;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.java.JavaParser;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A pool of java parsers whose classpath is made of the jars bundled with this module, as selected by
+ * {@link JavaParser.Builder#classpathFromResources(ExecutionContext, String...)}.
+ * <P>
+ * Extracting the bundled jars and bootstrapping the compiler is far more expensive than parsing a template, so the
+ * classpath of each set of artifacts is only resolved once, from the {@link ClasspathResourceCache}, and parsers are
+ * reused for every template. A parser is reset every time it is handed out, so that no state leaks from one use to
+ * the next, and a parser is only ever handed out to the thread it was built for, so recipes may safely run in parallel.
+ * <P>
+ * The pool holds at most {@link #MAX_PARSERS} parsers across all threads, dropping the least recently used one when
+ * full, so that neither the parsers of finished threads nor their jars are kept for the life of the JVM.
+ */
+public final class JavaParserPool {
+    static final int MAX_PARSERS = 8;
+
+    private static final Map<List<String>, List<Path>> CLASSPATHS = new ConcurrentHashMap<>();
+
+    /**
+     * Guarded by itself, and in access order so that the eldest entry is the least recently used one.
+     */
+    private static final LinkedHashMap<ParserKey, PooledParser> PARSERS = new LinkedHashMap<>(16, 0.75f, true);
+
+    private JavaParserPool() {
+    }
+
+    /**
+     * @param ctx                        The execution context used to report any missing artifacts.
+     * @param artifactNamesWithVersions  The patterns of the bundled artifacts to put on the classpath, like `spring-boot-2.*`.
+     * @return A freshly reset parser with the bundled artifacts on its classpath, for use on the current thread only.
+     */
+    public static JavaParser fromResources(ExecutionContext ctx, String... artifactNamesWithVersions) {
+        ParserKey key = new ParserKey(Thread.currentThread(), normalize(artifactNamesWithVersions));
+        PooledParser pooled;
+        synchronized (PARSERS) {
+            pooled = PARSERS.get(key);
+        }
+        if (pooled == null) {
+            // only the current thread builds parsers for its own keys, so the parser can't have been pooled meanwhile
+            List<Path> classpath = classpath(ctx, key.getArtifacts());
+            // a pooled parser outlives this call, so its jars must outlive any later eviction until it is dropped
+            ClasspathResourceCache.retain(classpath);
+            pooled = new PooledParser(JavaParser.fromJavaVersion()
+                    .classpath(classpath)
+                    .build(), classpath);
+            List<PooledParser> dropped = new ArrayList<>();
+            synchronized (PARSERS) {
+                PARSERS.put(key, pooled);
+                for (Iterator<PooledParser> eldest = PARSERS.values().iterator(); PARSERS.size() > MAX_PARSERS; ) {
+                    dropped.add(eldest.next());
+                    eldest.remove();
+                }
+            }
+            for (PooledParser parser : dropped) {
+                ClasspathResourceCache.release(parser.getClasspath());
+            }
+        }
+        pooled.getParser().reset();
+        return pooled.getParser();
+    }
+
+    private static List<Path> classpath(ExecutionContext ctx, List<String> artifacts) {
+        List<Path> classpath = CLASSPATHS.get(artifacts);
+        // the jars may have been evicted from the classpath cache by another process since they were resolved
+        if (classpath == null || !classpath.stream().allMatch(Files::isRegularFile)) {
+            classpath = ClasspathResourceCache.dependenciesFromResources(ctx, artifacts.toArray(new String[0]));
+            CLASSPATHS.put(artifacts, classpath);
+        }
+        return classpath;
+    }
+
+    private static List<String> normalize(String... artifactNamesWithVersions) {
+        return Collections.unmodifiableList(new ArrayList<>(new TreeSet<>(Arrays.asList(artifactNamesWithVersions))));
+    }
+
+    @Value
+    private static class ParserKey {
+        Thread thread;
+        List<String> artifacts;
+    }
+
+    @Value
+    private static class PooledParser {
+        JavaParser parser;
+        List<Path> classpath;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import lombok.Value;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Tree;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.Space;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A cache of the type-attributed trees produced from constant template snippets, so that a recipe inserting the same
+ * snippet into thousands of classes or methods parses the snippet once, rather than once per insertion as
+ * {@link org.openrewrite.java.JavaTemplate} does.
+ * <P>
+ * A snippet is parsed with a {@link JavaParserPool pooled parser} in a stub compilation unit that places it at the
+ * same kind of coordinate it will be inserted at. Every tree handed out is a copy of the cached tree with fresh ids,
+ * so no two insertions ever share an id.
+ */
+public final class JavaTemplateCache {
+    private static final Map<Key, J.Annotation> ANNOTATIONS = new ConcurrentHashMap<>();
+
+    /**
+     * The kind of coordinate a snippet is inserted at.
+     */
+    public enum Target {
+        CLASS,
+        METHOD
+    }
+
+    private JavaTemplateCache() {
+    }
+
+    /**
+     * @param ctx                       The execution context of the recipe.
+     * @param target                    The kind of declaration the annotation will be added to.
+     * @param snippet                   The annotation, like `@Bean`.
+     * @param imports                   The fully qualified names of the types the snippet refers to.
+     * @param artifactNamesWithVersions The patterns of the bundled artifacts to put on the classpath, like `spring-boot-2.*`.
+     * @return The type-attributed annotation, with fresh ids and an empty prefix.
+     */
+    public static J.Annotation annotation(ExecutionContext ctx, Target target, String snippet, Collection<String> imports,
+                                          String... artifactNamesWithVersions) {
+        Key key = new Key(snippet, new TreeSet<>(imports), new TreeSet<>(Arrays.asList(artifactNamesWithVersions)), target);
+        J.Annotation annotation = ANNOTATIONS.get(key);
+        if (annotation == null) {
+            // parsed outside the map so that parsing one snippet never blocks lookups of another
+            annotation = parseAnnotation(ctx, key);
+            J.Annotation existing = ANNOTATIONS.putIfAbsent(key, annotation);
+            if (existing != null) {
+                annotation = existing;
+            }
+        }
+        return withFreshIds(annotation);
+    }
+
+    private static J.Annotation parseAnnotation(ExecutionContext ctx, Key key) {
+        StringBuilder source = new StringBuilder();
+        for (String anImport : key.getImports()) {
+            source.append("import ").append(anImport).append(";\n");
+        }
+        if (key.getTarget() == Target.CLASS) {
+            source.append(key.getSnippet()).append("\nclass __Template__ {}\n");
+        } else {
+            source.append("class __Template__ {\n").append(key.getSnippet()).append("\nvoid __template__() {}\n}\n");
+        }
+
+        List<J.CompilationUnit> cus = JavaParserPool.fromResources(ctx, key.getArtifacts().toArray(new String[0]))
+                .parse(ctx, source.toString());
+        if (cus.isEmpty() || cus.get(0).getClasses().isEmpty()) {
+            throw new IllegalArgumentException("Unable to parse the template snippet '" + key.getSnippet() + "'");
+        }
+        J.ClassDeclaration template = cus.get(0).getClasses().get(0);
+        List<J.Annotation> leadingAnnotations = key.getTarget() == Target.CLASS ?
+                template.getLeadingAnnotations() :
+                ((J.MethodDeclaration) template.getBody().getStatements().get(0)).getLeadingAnnotations();
+        if (leadingAnnotations.isEmpty()) {
+            throw new IllegalArgumentException("The template snippet '" + key.getSnippet() + "' is not an annotation");
+        }
+        return leadingAnnotations.get(0).withPrefix(Space.EMPTY);
+    }
+
+    private static J.Annotation withFreshIds(J.Annotation annotation) {
+        //noinspection ConstantConditions
+        return (J.Annotation) new JavaIsoVisitor<Integer>() {
+            @Override
+            public J preVisit(J tree, Integer p) {
+                return tree.withId(Tree.randomId());
+            }
+        }.visit(annotation, 0);
+    }
+
+    @Value
+    static class Key {
+        String snippet;
+        SortedSet<String> imports;
+        SortedSet<String> artifacts;
+        Target target;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import org.openrewrite.Cursor;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.java.format.AutoFormatVisitor;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Adds an already built annotation to a class or method declaration, formatted in the same way as the
+ * {@code addAnnotation} coordinates of {@link org.openrewrite.java.JavaTemplate}, or removes one.
+ */
+public final class LeadingAnnotations {
+
+    private LeadingAnnotations() {
+    }
+
+    /**
+     * @param classDecl  The class declaration to annotate.
+     * @param annotation The annotation to add.
+     * @param order      The order of the leading annotations, the annotation is added before the first annotation it
+     *                   is ordered before.
+     * @param ctx        The execution context of the recipe.
+     * @param parent     The cursor of the parent of the class declaration.
+     * @return The annotated class declaration, where only the annotations, modifiers and name are reformatted.
+     */
+    public static J.ClassDeclaration add(J.ClassDeclaration classDecl, J.Annotation annotation, Comparator<J.Annotation> order,
+                                         ExecutionContext ctx, Cursor parent) {
+        J.ClassDeclaration c = classDecl.withLeadingAnnotations(insert(classDecl.getLeadingAnnotations(), annotation, order));
+        return (J.ClassDeclaration) new AutoFormatVisitor<ExecutionContext>(c.getName()).visit(c, ctx, parent);
+    }
+
+    /**
+     * @param method     The method declaration to annotate.
+     * @param annotation The annotation to add.
+     * @param order      The order of the leading annotations, the annotation is added before the first annotation it
+     *                   is ordered before.
+     * @param ctx        The execution context of the recipe.
+     * @param parent     The cursor of the parent of the method declaration.
+     * @return The annotated method declaration, where only the annotations, modifiers, return type and name are
+     * reformatted.
+     */
+    public static J.MethodDeclaration add(J.MethodDeclaration method, J.Annotation annotation, Comparator<J.Annotation> order,
+                                          ExecutionContext ctx, Cursor parent) {
+        J.MethodDeclaration m = method.withLeadingAnnotations(insert(method.getLeadingAnnotations(), annotation, order));
+        return (J.MethodDeclaration) new AutoFormatVisitor<ExecutionContext>(m.getName()).visit(m, ctx, parent);
+    }
+
+    /**
+     * @param classDecl             The class declaration to remove the annotation from.
+     * @param fullyQualifiedTypeName The type of the annotation to remove.
+     * @return The class declaration without any leading annotation of the type, where an annotation that becomes the
+     * first annotation takes the place of the first removed annotation.
+     */
+    public static J.ClassDeclaration remove(J.ClassDeclaration classDecl, String fullyQualifiedTypeName) {
+        List<J.Annotation> annotations = classDecl.getLeadingAnnotations();
+        List<J.Annotation> remaining = ListUtils.map(annotations, a -> TypeUtils.isOfClassType(a.getType(), fullyQualifiedTypeName) ? null : a);
+        if (remaining == annotations) {
+            return classDecl;
+        }
+        if (!remaining.isEmpty() && remaining.get(0) != annotations.get(0)) {
+            remaining = ListUtils.mapFirst(remaining, a -> a.withPrefix(annotations.get(0).getPrefix()));
+        }
+        return classDecl.withLeadingAnnotations(remaining);
+    }
+
+    private static List<J.Annotation> insert(List<J.Annotation> annotations, J.Annotation annotation, Comparator<J.Annotation> order) {
+        List<J.Annotation> inserted = new ArrayList<>(annotations.size() + 1);
+        boolean added = false;
+        for (J.Annotation existing : annotations) {
+            if (!added && order.compare(annotation, existing) < 0) {
+                inserted.add(annotation);
+                added = true;
+            }
+            inserted.add(existing);
+        }
+        if (!added) {
+            inserted.add(annotation);
+        }
+        return inserted;
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import org.openrewrite.internal.lang.Nullable;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A persistent cache of the managed dependency versions of released BOMs, like `spring-boot-dependencies`, so that a
+ * BOM is downloaded and resolved once rather than once per JVM.
+ * <P>
+ * Each BOM version is stored as a table of `groupId:artifactId` and version, separated by a tab, one dependency per
+ * line, in a file named after the BOM and its version. The versions of a release never change, so an entry never
+ * expires. Snapshots and dynamic versions are never cached.
+ * <P>
+ * The tables of known releases also ship with these recipes, gzipped, in {@value #BUNDLED}, so that they are never
+ * resolved at all. They are generated by the {@code generateManagedVersionTables} task of the build.
+ */
+public final class ManagedVersionsCache {
+    static final String BUNDLED = "META-INF/rewrite/managed-versions";
+
+    private static final Pattern CACHEABLE_VERSION = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]*");
+
+    private ManagedVersionsCache() {
+    }
+
+    /**
+     * @return The managed versions by `groupId:artifactId`, or null if the BOM version hasn't been cached.
+     * @throws IOException If the cached entry can't be read.
+     */
+    @Nullable
+    public static Map<String, String> read(Path directory, String bom, String version) throws IOException {
+        Path table = table(directory, bom, version);
+        if (table == null || !Files.isRegularFile(table)) {
+            return null;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(table, StandardCharsets.UTF_8)) {
+            return read(reader);
+        }
+    }
+
+    /**
+     * @return The managed versions by `groupId:artifactId` of a BOM version whose table ships with these recipes, or
+     * null if it doesn't.
+     * @throws IOException If the bundled table can't be read.
+     */
+    @Nullable
+    public static Map<String, String> readBundled(String bom, String version) throws IOException {
+        if (table(Paths.get(BUNDLED), bom, version) == null) {
+            return null;
+        }
+        InputStream bundled = ManagedVersionsCache.class.getClassLoader()
+                .getResourceAsStream(BUNDLED + "/" + bom + "-" + version + ".tsv.gz");
+        if (bundled == null) {
+            return null;
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(bundled), StandardCharsets.UTF_8))) {
+            return read(reader);
+        }
+    }
+
+    private static Map<String, String> read(BufferedReader reader) throws IOException {
+        Map<String, String> managedVersions = new HashMap<>();
+        for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+            int tab = line.indexOf('\t');
+            if (tab > 0) {
+                managedVersions.put(line.substring(0, tab), line.substring(tab + 1));
+            }
+        }
+        return Collections.unmodifiableMap(managedVersions);
+    }
+
+    /**
+     * Stores the managed versions of the BOM version, unless it is a snapshot or dynamic version. The table is written
+     * to a temporary file that is atomically renamed into place, so a concurrent reader never observes a partial table.
+     */
+    public static void write(Path directory, String bom, String version, Map<String, String> managedVersions) throws IOException {
+        Path table = table(directory, bom, version);
+        if (table == null) {
+            return;
+        }
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, table.getFileName().toString(), ".tmp");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                write(writer, managedVersions);
+            }
+            try {
+                Files.move(temp, table, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, table, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Writes the table of a BOM version to be bundled with these recipes, to the directory that is bundled as
+     * {@value #BUNDLED}.
+     */
+    public static void writeBundled(Path directory, String bom, String version, Map<String, String> managedVersions) throws IOException {
+        Path table = table(directory, bom, version);
+        if (table == null) {
+            return;
+        }
+        Files.createDirectories(directory);
+        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(new GZIPOutputStream(
+                Files.newOutputStream(table.resolveSibling(table.getFileName() + ".gz"))), StandardCharsets.UTF_8))) {
+            write(writer, managedVersions);
+        }
+    }
+
+    private static void write(BufferedWriter writer, Map<String, String> managedVersions) throws IOException {
+        for (Map.Entry<String, String> managedVersion : new TreeMap<>(managedVersions).entrySet()) {
+            writer.write(managedVersion.getKey());
+            writer.write('\t');
+            writer.write(managedVersion.getValue());
+            writer.write('\n');
+        }
+    }
+
+    @Nullable
+    private static Path table(Path directory, String bom, String version) {
+        if (!CACHEABLE_VERSION.matcher(version).matches() || version.endsWith("-SNAPSHOT") || version.startsWith("latest.")) {
+            return null;
+        }
+        return directory.resolve(bom + "-" + version + ".tsv");
+    }
+}
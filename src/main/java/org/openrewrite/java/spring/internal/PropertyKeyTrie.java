@@ -0,0 +1,99 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import java.util.*;
+
+/**
+ * A trie of dot-separated spring property keys that answers "which of the stored keys are equal to, or a parent of,
+ * this key" with a single walk over the segments of the key, no matter how many keys are stored.
+ * <P>
+ * Segments are compared in their canonical relaxed binding form (lower case, without '-' and '_'), so
+ * `spring.main.showBanner`, `spring.main.show-banner` and `spring.main.show_banner` all reach the same node. A stored
+ * key containing a glob is indexed by the literal segments in front of its first glob, so it is returned for every key
+ * sharing that literal prefix and callers must confirm the match themselves.
+ *
+ * @param <T> The value associated with each stored key.
+ */
+public class PropertyKeyTrie<T> {
+    private final Node<T> root = new Node<>();
+    private int size;
+
+    public void put(String propertyKey, T value) {
+        Node<T> node = root;
+        for (String segment : propertyKey.split("\\.")) {
+            if (segment.contains("*")) {
+                break;
+            }
+            node = node.children.computeIfAbsent(SpringPropertyKeys.canonical(segment), s -> new Node<>());
+        }
+        node.values.add(new Ordered<>(size++, value));
+    }
+
+    /**
+     * @param propertyKey A property key, in any relaxed binding form.
+     * @return The values of all stored keys that are equal to, or a parent of, the property key, in the order in
+     * which they were stored.
+     */
+    public List<T> findPrefixesOf(String propertyKey) {
+        List<Ordered<T>> found = new ArrayList<>(root.values);
+        Node<T> node = root;
+        for (String segment : propertyKey.split("\\.")) {
+            node = node.children.get(SpringPropertyKeys.canonical(segment));
+            if (node == null) {
+                break;
+            }
+            found.addAll(node.values);
+        }
+
+        if (found.isEmpty()) {
+            return Collections.emptyList();
+        }
+        found.sort(Comparator.comparingInt(Ordered::getOrder));
+        List<T> values = new ArrayList<>(found.size());
+        for (Ordered<T> ordered : found) {
+            values.add(ordered.getValue());
+        }
+        return values;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private static class Node<T> {
+        private final Map<String, Node<T>> children = new HashMap<>();
+        private final List<Ordered<T>> values = new ArrayList<>(1);
+    }
+
+    private static class Ordered<T> {
+        private final int order;
+        private final T value;
+
+        private Ordered(int order, T value) {
+            this.order = order;
+            this.value = value;
+        }
+
+        private int getOrder() {
+            return order;
+        }
+
+        private T getValue() {
+            return value;
+        }
+    }
+}
@@ -16,227 +16,483 @@
 package org.openrewrite.java.spring.internal;
 
 
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.ipc.http.HttpSender;
 import org.openrewrite.ipc.http.HttpUrlConnectionSender;
-
-import java.io.IOException;
-import java.io.UncheckedIOException;
+import org.openrewrite.java.spring.SpringExecutionContextView;
+import org.openrewrite.java.spring.SpringRepositories;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.*;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import static java.util.stream.Stream.empty;
-
 public class SpringBootReleases {
-    private static volatile Set<String> availableReleases;
+    private static final Path DEFAULT_CACHE_DIRECTORY = Paths.get(System.getProperty("user.home"), ".rewrite", "cache", "spring-boot-releases");
+    private static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofDays(1);
+
+    /**
+     * Dynamic versions that are answered by a range query, like `2.+` or `2.7.+`.
+     */
+    private static final Pattern DYNAMIC_VERSION_PREFIX = Pattern.compile("(\\d+\\.){0,2}");
 
-    private final String repositoryUrl = "https://repo1.maven.org/maven2";
+    @Nullable
+    private volatile NavigableSet<SpringBootVersion> releaseIndex;
 
-    private final String milestoneRepositoryUrl = "https://repo.spring.io/milestone";
+    private static final int MAX_DOWNLOAD_ATTEMPTS = 3;
+    private static final Duration RETRY_BACKOFF = Duration.ofMillis(500);
+
+    private final SpringRepositories repositories;
 
     private final boolean includeReleaseCandidates;
 
+    private final HttpMetadataCache metadataCache;
+
     public SpringBootReleases(boolean includeReleaseCandidates) {
+        this(includeReleaseCandidates, DEFAULT_CACHE_DIRECTORY, DEFAULT_TIME_TO_LIVE);
+    }
+
+    /**
+     * @param ctx                      The execution context whose {@link SpringExecutionContextView#getSpringRepositories()
+     *                                 repositories} releases are resolved from, and whose
+     *                                 {@link SpringExecutionContextView#getMetadataCacheDirectory() metadata cache}
+     *                                 they are cached in.
+     * @param includeReleaseCandidates Whether release candidates are available releases.
+     */
+    public SpringBootReleases(ExecutionContext ctx, boolean includeReleaseCandidates) {
+        this(includeReleaseCandidates, SpringExecutionContextView.view(ctx).getSpringRepositories(),
+                SpringExecutionContextView.view(ctx).getMetadataCacheDirectory(),
+                SpringExecutionContextView.view(ctx).getMetadataCacheTimeToLive());
+    }
+
+    public SpringBootReleases(boolean includeReleaseCandidates, Path cacheDirectory, Duration timeToLive) {
+        this(includeReleaseCandidates, SpringRepositories.DEFAULT, cacheDirectory, timeToLive);
+    }
+
+    /**
+     * @param includeReleaseCandidates Whether release candidates are available releases.
+     * @param repositories             The repositories releases are resolved from.
+     * @param cacheDirectory           The directory the release listings are cached in, "~/.rewrite/cache/spring-boot-releases"
+     *                                 by default.
+     * @param timeToLive               How long a cached listing is used without asking the repository whether it has
+     *                                 changed, a day by default.
+     */
+    public SpringBootReleases(boolean includeReleaseCandidates, SpringRepositories repositories, Path cacheDirectory,
+                              Duration timeToLive) {
         this.includeReleaseCandidates = includeReleaseCandidates;
+        this.repositories = repositories;
+        this.metadataCache = new HttpMetadataCache(cacheDirectory, timeToLive, repositories.isOffline());
     }
+
+    /**
+     * @return The modules of the release, downloaded one at a time into memory as the stream is consumed, in the order
+     * of their module names. {@link #download(String, Path, int)} is preferable for writing them to disk.
+     */
     public Stream<ModuleDownload> download(String version) {
-        List<String> denyList = Arrays.asList("sample", "gradle", "experimental", "legacy",
-                "maven", "tests", "spring-boot-versions");
         HttpUrlConnectionSender httpSender = new HttpUrlConnectionSender();
+        return modules(httpSender, version).stream()
+                .map(module -> downloadModule(httpSender, version, module))
+                .filter(Objects::nonNull);
+    }
 
-        HttpSender.Request request = HttpSender.Request.build((version.contains("-RC") ? milestoneRepositoryUrl :  repositoryUrl) + "/org/springframework/boot", httpSender)
-                .withMethod(HttpSender.Method.GET)
-                .build();
-
-        try (HttpSender.Response response = httpSender.send(request)) {
-            if (!response.isSuccessful()) {
-                throw new IOException("Unexpected code " + response);
+    /**
+     * Streams each module of the release straight to a file, so that memory use doesn't grow with the number or size
+     * of the modules. Each module is verified against the `.sha1` checksum the repository publishes for it, and only
+     * moved into place once verified, so the directory never holds a partial or corrupt jar.
+     *
+     * @param version     The release to download.
+     * @param directory   The directory to download the modules to, as `<module>-<version>.jar`.
+     * @param concurrency The maximum number of modules downloaded at once.
+     * @return The downloaded modules, in the order of their module names.
+     */
+    public List<ModuleFile> download(String version, Path directory, int concurrency) {
+        HttpUrlConnectionSender httpSender = new HttpUrlConnectionSender();
+        List<String> modules = modules(httpSender, version);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(concurrency, modules.size())), r -> {
+            Thread thread = new Thread(r, "spring-boot-module-download");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            Files.createDirectories(directory);
+            List<Future<ModuleFile>> futures = new ArrayList<>(modules.size());
+            for (String module : modules) {
+                futures.add(executor.submit(() -> downloadModule(httpSender, version, module, directory)));
             }
+            List<ModuleFile> downloads = new ArrayList<>(modules.size());
+            for (Future<ModuleFile> future : futures) {
+                ModuleFile download = future.get();
+                if (download != null) {
+                    downloads.add(download);
+                }
+            }
+            return downloads;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException(new InterruptedIOException("Interrupted downloading Spring Boot " + version));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 
-            Set<String> modules = new HashSet<>();
-
-            if (response.isSuccessful()) {
-                Matcher moduleMatcher = Pattern.compile("href=\"([^\"]+)/\"")
-                        .matcher(new String(response.getBodyAsBytes()));
+    private List<String> modules(HttpSender httpSender, String version) {
+        List<String> denyList = Arrays.asList("sample", "gradle", "experimental", "legacy",
+                "maven", "tests", "spring-boot-versions");
 
-                while (moduleMatcher.find()) {
-                    String module = moduleMatcher.group(1);
-                    if (denyList.stream().noneMatch(module::contains)) {
-                        modules.add(module);
+        String url = repositoryUrl(version) + "/org/springframework/boot";
+        Set<String> modules = new TreeSet<>();
+        try {
+            if (SpringRepositories.isLocal(url)) {
+                try (DirectoryStream<Path> directories = Files.newDirectoryStream(Paths.get(URI.create(url)), Files::isDirectory)) {
+                    for (Path directory : directories) {
+                        modules.add(directory.getFileName().toString());
                     }
                 }
+            } else if (repositories.isOffline()) {
+                throw new IOException("Unable to list the modules of Spring Boot " + version + " from " + url + " offline");
+            } else {
+                try (HttpSender.Response response = httpSender.send(get(url, httpSender))) {
+                    if (!response.isSuccessful()) {
+                        throw new IOException("Unexpected code " + response);
+                    }
 
-                return modules.stream()
-                        .map(module -> {
-                            HttpSender.Request moduleRequest = HttpSender.Request
-                                    .build((version.contains("-RC") ? milestoneRepositoryUrl :  repositoryUrl) + "/org/springframework/boot/" + module + "/" + version +
-                                            "/" + module + "-" + version + ".jar", httpSender)
-                                    .withMethod(HttpSender.Method.GET)
-                                    .build();
-
-                            try(HttpSender.Response moduleResponse = httpSender.send(moduleRequest)) {
-                                if (!moduleResponse.isSuccessful()) {
-                                    if (moduleResponse.getCode() == 404) {
-                                        return null;
-                                    }
-                                    throw new IOException("Unexpected code " + moduleResponse);
-                                }
-                                byte[] body = moduleResponse.getBodyAsBytes();
-                                if(body.length == 0) {
-                                    return null;
-                                }
-                                return new ModuleDownload(module, body);
-                            } catch (IOException e) {
-                                throw new UncheckedIOException(e);
-                            }
-                        })
-                        .filter(Objects::nonNull);
+                    Matcher moduleMatcher = Pattern.compile("href=\"([^\"]+)/\"")
+                            .matcher(new String(response.getBodyAsBytes()));
+                    while (moduleMatcher.find()) {
+                        modules.add(moduleMatcher.group(1));
+                    }
+                }
             }
-
-            return empty();
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
+        modules.remove("..");
+        modules.removeIf(module -> denyList.stream().anyMatch(module::contains));
+        return new ArrayList<>(modules);
     }
 
-    public Set<String> allReleases() {
-        if (availableReleases == null) {
-            HttpUrlConnectionSender httpSender = new HttpUrlConnectionSender();
-            HttpSender.Request request = HttpSender.Request
-                    .build(repositoryUrl + "/org/springframework/boot/spring-boot-starter-parent", httpSender)
-                    .withMethod(HttpSender.Method.GET)
-                    .build();
-
-            Set<String> releases = new HashSet<>();
-
-            try (HttpSender.Response response = httpSender.send(request)) {
-                if (!response.isSuccessful()) {
-                    throw new IOException("Unexpected code " + response);
+    /**
+     * @return The module, or null if the release has no such module.
+     */
+    @Nullable
+    private ModuleDownload downloadModule(HttpSender httpSender, String version, String module) {
+        String url = moduleUrl(version, module);
+        return withRetries(() -> {
+            try (InputStream body = open(httpSender, url, module, version)) {
+                if (body == null) {
+                    return null;
+                }
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] buffer = new byte[8192];
+                for (int n = body.read(buffer); n != -1; n = body.read(buffer)) {
+                    out.write(buffer, 0, n);
                 }
+                return out.size() == 0 ? null : new ModuleDownload(module, out.toByteArray());
+            }
+        });
+    }
 
-                byte[] responseBody = response.getBodyAsBytes();
-                if (responseBody.length > 0) {
-                    Matcher releaseMatcher = Pattern.compile("href=\"([^\"]+[.RELEASE]*)/\"")
-                            .matcher(new String(responseBody));
+    /**
+     * @return The module, or null if the release has no such module.
+     */
+    @Nullable
+    private ModuleFile downloadModule(HttpSender httpSender, String version, String module, Path directory) {
+        String url = moduleUrl(version, module);
+        Path jar = directory.resolve(module + "-" + version + ".jar");
+        return withRetries(() -> {
+            String expectedChecksum = null;
+            try (InputStream checksum = open(httpSender, url + ".sha1", module, version)) {
+                if (checksum != null) {
+                    // the checksum may be followed by the file name
+                    ByteArrayOutputStream out = new ByteArrayOutputStream();
+                    byte[] buffer = new byte[128];
+                    for (int n = checksum.read(buffer); n != -1; n = checksum.read(buffer)) {
+                        out.write(buffer, 0, n);
+                    }
+                    expectedChecksum = new String(out.toByteArray(), StandardCharsets.US_ASCII).trim().split("\\s+")[0];
+                }
+            }
 
-                    while (releaseMatcher.find()) {
-                        if ("..".equals(releaseMatcher.group(1))) {
-                            continue;
-                        }
-                        releases.add(releaseMatcher.group(1));
+            Path temp = Files.createTempFile(directory, jar.getFileName().toString(), ".tmp");
+            try {
+                MessageDigest sha1 = sha1();
+                try (InputStream body = open(httpSender, url, module, version)) {
+                    if (body == null) {
+                        return null;
                     }
+                    Files.copy(new DigestInputStream(body, sha1), temp, StandardCopyOption.REPLACE_EXISTING);
+                }
+                if (Files.size(temp) == 0) {
+                    return null;
                 }
 
-            } catch (IOException e) {
-                throw new UncheckedIOException(e);
+                String checksum = hex(sha1.digest());
+                if (expectedChecksum != null && !expectedChecksum.isEmpty() && !expectedChecksum.equalsIgnoreCase(checksum)) {
+                    throw new IOException("Checksum " + checksum + " of " + module + " " + version +
+                                          " doesn't match the published checksum " + expectedChecksum);
+                }
+                try {
+                    Files.move(temp, jar, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, jar, StandardCopyOption.REPLACE_EXISTING);
+                }
+                return new ModuleFile(module, jar);
+            } finally {
+                Files.deleteIfExists(temp);
             }
+        });
+    }
 
-            if (includeReleaseCandidates) {
-                request = HttpSender.Request
-                        .build(milestoneRepositoryUrl + "/org/springframework/boot/spring-boot-starter-parent", httpSender)
-                        .withMethod(HttpSender.Method.GET)
-                        .build();
+    /**
+     * @return The body of the file or response, which must be closed, or null if the repository has no such file.
+     */
+    @Nullable
+    private static InputStream open(HttpSender httpSender, String url, String module, String version) throws IOException {
+        if (SpringRepositories.isLocal(url)) {
+            Path file = Paths.get(URI.create(url));
+            return Files.isRegularFile(file) ? Files.newInputStream(file) : null;
+        }
 
-                try (HttpSender.Response response = httpSender.send(request)) {
-                    if (!response.isSuccessful()) {
-                        throw new IOException("Unexpected code " + response);
-                    }
+        HttpSender.Response response = httpSender.send(get(url, httpSender));
+        if (!response.isSuccessful()) {
+            response.close();
+            if (response.getCode() == 404) {
+                return null;
+            }
+            throw new UnexpectedResponseException(response.getCode(), module, version);
+        }
+        return new FilterInputStream(response.getBody()) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    response.close();
+                }
+            }
+        };
+    }
 
-                    byte[] responseBody = response.getBodyAsBytes();
-                    if (responseBody.length > 0) {
-                        Matcher releaseMatcher = Pattern.compile("href=\"([^\"]+-RC[0-9]]*)/\"")
-                                .matcher(new String(responseBody));
-
-                        while (releaseMatcher.find()) {
-                            if ("..".equals(releaseMatcher.group(1))) {
-                                continue;
-                            }
-                            releases.add(releaseMatcher.group(1));
-                        }
-                    }
+    /**
+     * Retries connection failures, rate limiting, server errors and corrupt downloads, waiting twice as long before
+     * each attempt.
+     */
+    @Nullable
+    private static <T> T withRetries(Download<T> download) {
+        IOException failure = null;
+        for (int attempt = 0; attempt < MAX_DOWNLOAD_ATTEMPTS; attempt++) {
+            if (attempt > 0) {
+                try {
+                    Thread.sleep(RETRY_BACKOFF.toMillis() << (attempt - 1));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new UncheckedIOException(new InterruptedIOException("Interrupted downloading"));
+                }
+            }
 
-                } catch (IOException e) {
-                    throw new UncheckedIOException(e);
+            try {
+                return download.get();
+            } catch (UnexpectedResponseException e) {
+                failure = e;
+                if (!e.isRetryable()) {
+                    break;
                 }
+            } catch (IOException e) {
+                failure = e;
+            } catch (UncheckedIOException e) {
+                failure = e.getCause();
+            }
+        }
+        throw new UncheckedIOException(failure);
+    }
+
+    private static HttpSender.Request get(String url, HttpSender httpSender) {
+        return HttpSender.Request.build(url, httpSender)
+                .withMethod(HttpSender.Method.GET)
+                .build();
+    }
+
+    private String moduleUrl(String version, String module) {
+        return repositoryUrl(version) + "/org/springframework/boot/" + module + "/" + version +
+               "/" + module + "-" + version + ".jar";
+    }
 
+    private static MessageDigest sha1() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    private String repositoryUrl(String version) {
+        return repositories.mirror(version.contains("-RC") ? repositories.getSpringMilestones() : repositories.getMavenCentral());
+    }
+
+    /**
+     * @return Every release of Spring Boot, and its release candidates if they are included, in version order.
+     */
+    public Set<String> allReleases() {
+        Set<String> releases = new LinkedHashSet<>();
+        for (SpringBootVersion release : releaseIndex()) {
+            releases.add(release.toString());
+        }
+        return releases;
+    }
+
+    /**
+     * @return The releases, sorted, from the `maven-metadata.xml` of `spring-boot-starter-parent`, served from the
+     * {@link HttpMetadataCache metadata cache} when it has been fetched within the time to live.
+     */
+    private NavigableSet<SpringBootVersion> releaseIndex() {
+        NavigableSet<SpringBootVersion> releases = releaseIndex;
+        if (releases == null) {
+            releases = new TreeSet<>();
+            for (String release : versions(repositories.mirror(repositories.getMavenCentral()))) {
+                SpringBootVersion version = SpringBootVersion.parse(release);
+                if (version != null && version.isRelease()) {
+                    releases.add(version);
+                }
             }
-            availableReleases = releases;
+            if (includeReleaseCandidates) {
+                for (String releaseCandidate : versions(repositories.mirror(repositories.getSpringMilestones()))) {
+                    SpringBootVersion version = SpringBootVersion.parse(releaseCandidate);
+                    if (version != null && version.isReleaseCandidate()) {
+                        releases.add(version);
+                    }
+                }
+            }
+            releases = Collections.unmodifiableNavigableSet(releases);
+            releaseIndex = releases;
+        }
+        return releases;
+    }
 
+    private List<String> versions(String repository) {
+        String url = repository + "/org/springframework/boot/spring-boot-starter-parent/maven-metadata.xml";
+        try {
+            byte[] metadata = metadataCache.get(url);
+            if (metadata == null) {
+                throw new IOException("Unexpected code 404 fetching " + url);
+            }
+            return parseVersions(new ByteArrayInputStream(metadata));
+        } catch (IOException | XMLStreamException e) {
+            throw new UncheckedIOException(e instanceof IOException ? (IOException) e : new IOException("Unable to parse " + url, e));
         }
+    }
 
-        return availableReleases;
+    /**
+     * @return The versions of the `versioning/versions/version` elements of a `maven-metadata.xml`.
+     */
+    static List<String> parseVersions(InputStream metadata) throws XMLStreamException {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+        List<String> versions = new ArrayList<>();
+        XMLStreamReader reader = factory.createXMLStreamReader(metadata);
+        try {
+            Deque<String> path = new ArrayDeque<>();
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    path.push(reader.getLocalName());
+                    if (path.size() == 4 && "version".equals(path.peek()) && path.contains("versions")) {
+                        versions.add(reader.getElementText().trim());
+                        path.pop();
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    path.pop();
+                }
+            }
+        } finally {
+            reader.close();
+        }
+        return versions;
     }
 
     /**
-     * @return The set of latest patch releases for each available minor release.
+     * @return The set of latest patch releases for each available minor release, in version order.
      */
     public Set<String> latestPatchReleases() {
-        return allReleases().stream()
-                .collect(Collectors.groupingBy(v -> {
-                    String[] versionParts = v.split("\\.");
-                    return versionParts[0] + "." + versionParts[1];
-                }))
-                .values()
-                .stream()
-                .map(patches -> patches.stream().max((r1, r2) -> {
-                            String[] r1Parts = r1.split("[\\.-]");
-                            String[] r2Parts = r2.split("[\\.-]");
-
-                            int majorVersionComp = r1Parts[0].compareTo(r2Parts[0]);
-                            if (majorVersionComp != 0) {
-                                return majorVersionComp;
-                            }
-
-                            int minorVersionComp = Integer.parseInt(r1Parts[1]) - Integer.parseInt(r2Parts[1]);
-                            if (minorVersionComp != 0) {
-                                return minorVersionComp;
-                            }
-
-                            int patchVersionComp = Integer.parseInt(r1Parts[2]) - Integer.parseInt(r2Parts[2]);
-                            if (patchVersionComp != 0) {
-                                return patchVersionComp;
-                            }
-
-                            // should never get to this point
-                            return r1.compareTo(r2);
-                        }).orElseThrow(() -> new IllegalStateException("Patch list should not be empty"))
-                )
-                .sorted()
-                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Deque<String> latestPatches = new ArrayDeque<>();
+        SpringBootVersion previous = null;
+        for (SpringBootVersion release : releaseIndex().descendingSet()) {
+            if (previous == null || previous.getMajor() != release.getMajor() || previous.getMinor() != release.getMinor()) {
+                latestPatches.addFirst(release.toString());
+            }
+            previous = release;
+        }
+        return new LinkedHashSet<>(latestPatches);
     }
 
+    /**
+     * @param version A version, or a dynamic version like `2.+` or `2.7.+`.
+     * @return The version, if it isn't dynamic, or else the latest release matching it.
+     */
+    @Nullable
     public String latestMatchingVersion(String version) {
         if (!version.contains("+")) {
             return version;
         }
 
-        return allReleases().stream()
-                .filter(release -> release.matches(version.replace("+", ".+")))
-                .max((r1, r2) -> {
-                    String[] r1Parts = r1.split("\\.");
-                    String[] r2Parts = r2.split("\\.");
-
-                    int majorVersionComp = r1Parts[0].compareTo(r2Parts[0]);
-                    if (majorVersionComp != 0) {
-                        return majorVersionComp;
-                    }
-
-                    int minorVersionComp = Integer.parseInt(r1Parts[1]) - Integer.parseInt(r2Parts[1]);
-                    if (minorVersionComp != 0) {
-                        return minorVersionComp;
-                    }
-
-                    int patchVersionComp = Integer.parseInt(r1Parts[2]) - Integer.parseInt(r2Parts[2]);
-                    if (patchVersionComp != 0) {
-                        return patchVersionComp;
-                    }
+        String prefix = version.substring(0, version.indexOf('+'));
+        if (DYNAMIC_VERSION_PREFIX.matcher(prefix).matches()) {
+            // a range query on the index, from the lowest version above the range down to the latest version in it
+            String[] parts = prefix.isEmpty() ? new String[0] : prefix.split("\\.");
+            int[] numbers = new int[3];
+            for (int i = 0; i < parts.length; i++) {
+                numbers[i] = Integer.parseInt(parts[i]);
+            }
+            if (parts.length > 0) {
+                numbers[parts.length - 1]++;
+                Arrays.fill(numbers, parts.length, 3, 0);
+            }
+            SpringBootVersion latest = parts.length == 0 ?
+                    (releaseIndex().isEmpty() ? null : releaseIndex().last()) :
+                    releaseIndex().lower(SpringBootVersion.lowest(numbers[0], numbers[1], numbers[2]));
+            return latest != null && latest.toString().startsWith(prefix) ? latest.toString() : null;
+        }
 
-                    // should never get to this point
-                    return r1.compareTo(r2);
-                })
-                .orElse(null);
+        Pattern versionPattern = Pattern.compile(version.replace("+", ".+"));
+        for (SpringBootVersion release : releaseIndex().descendingSet()) {
+            if (versionPattern.matcher(release.toString()).matches()) {
+                return release.toString();
+            }
+        }
+        return null;
     }
 
     public static class ModuleDownload {
@@ -256,4 +512,43 @@ public class SpringBootReleases {
             return body;
         }
     }
+
+    /**
+     * A module downloaded to disk.
+     */
+    public static class ModuleFile {
+        private final String moduleName;
+        private final Path path;
+
+        public ModuleFile(String moduleName, Path path) {
+            this.moduleName = moduleName;
+            this.path = path;
+        }
+
+        public String getModuleName() {
+            return moduleName;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+    }
+
+    private interface Download<T> {
+        @Nullable
+        T get() throws IOException;
+    }
+
+    private static class UnexpectedResponseException extends IOException {
+        private final int code;
+
+        UnexpectedResponseException(int code, String module, String version) {
+            super("Unexpected code " + code + " downloading " + module + " " + version);
+            this.code = code;
+        }
+
+        boolean isRetryable() {
+            return code == 429 || code >= 500;
+        }
+    }
 }
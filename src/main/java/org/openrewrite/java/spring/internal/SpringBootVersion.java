@@ -0,0 +1,133 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import org.openrewrite.internal.lang.Nullable;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A Spring Boot version, parsed once so that a sorted index of versions never re-parses version strings while
+ * comparing them. Versions are ordered numerically, and a release is ordered after its release candidates, which are
+ * ordered after any other pre-release of it.
+ */
+final class SpringBootVersion implements Comparable<SpringBootVersion> {
+    private static final Pattern VERSION = Pattern.compile("(\\d+)\\.(\\d+)\\.(\\d+)(?:[.-](.+))?");
+    private static final Pattern RELEASE_CANDIDATE = Pattern.compile("RC(\\d+)");
+
+    private static final int RELEASE = Integer.MAX_VALUE;
+    private static final int PRE_RELEASE = -1;
+    private static final int LOWEST = Integer.MIN_VALUE;
+
+    private final String version;
+    private final int major;
+    private final int minor;
+    private final int patch;
+
+    /**
+     * {@link #RELEASE} for a release, the number of a release candidate, or {@link #PRE_RELEASE} for any other
+     * pre-release.
+     */
+    private final int rank;
+
+    private SpringBootVersion(String version, int major, int minor, int patch, int rank) {
+        this.version = version;
+        this.major = major;
+        this.minor = minor;
+        this.patch = patch;
+        this.rank = rank;
+    }
+
+    /**
+     * @param version A version like `2.7.8`, `2.3.0.RELEASE` or `3.0.0-RC1`.
+     * @return The parsed version, or null if it isn't a `major.minor.patch` version.
+     */
+    @Nullable
+    static SpringBootVersion parse(String version) {
+        Matcher matcher = VERSION.matcher(version);
+        if (!matcher.matches()) {
+            return null;
+        }
+        try {
+            String qualifier = matcher.group(4);
+            int rank;
+            if (qualifier == null || "RELEASE".equals(qualifier)) {
+                rank = RELEASE;
+            } else {
+                Matcher releaseCandidate = RELEASE_CANDIDATE.matcher(qualifier);
+                rank = releaseCandidate.matches() ? Integer.parseInt(releaseCandidate.group(1)) : PRE_RELEASE;
+            }
+            return new SpringBootVersion(version, Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)),
+                    Integer.parseInt(matcher.group(3)), rank);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return A bound that is ordered before every version of the patch, for range queries on a sorted index.
+     */
+    static SpringBootVersion lowest(int major, int minor, int patch) {
+        return new SpringBootVersion("", major, minor, patch, LOWEST);
+    }
+
+    int getMajor() {
+        return major;
+    }
+
+    int getMinor() {
+        return minor;
+    }
+
+    boolean isRelease() {
+        return rank == RELEASE;
+    }
+
+    boolean isReleaseCandidate() {
+        return rank >= 0 && rank != RELEASE;
+    }
+
+    @Override
+    public int compareTo(SpringBootVersion other) {
+        int comparison = Integer.compare(major, other.major);
+        if (comparison == 0) {
+            comparison = Integer.compare(minor, other.minor);
+        }
+        if (comparison == 0) {
+            comparison = Integer.compare(patch, other.patch);
+        }
+        if (comparison == 0) {
+            comparison = Integer.compare(rank, other.rank);
+        }
+        return comparison == 0 ? version.compareTo(other.version) : comparison;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof SpringBootVersion && version.equals(((SpringBootVersion) o).version);
+    }
+
+    @Override
+    public int hashCode() {
+        return version.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return version;
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import org.openrewrite.Cursor;
+import org.openrewrite.Tree;
+import org.openrewrite.properties.PropertiesIsoVisitor;
+import org.openrewrite.properties.search.FindProperties;
+import org.openrewrite.properties.tree.Properties;
+import org.openrewrite.yaml.YamlIsoVisitor;
+import org.openrewrite.yaml.search.FindProperty;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * An index of the spring properties in a YAML or properties tree, keyed by the canonical relaxed binding form of each
+ * property key, so that repeated property lookups on the same tree don't each walk the whole tree.
+ * <P>
+ * The index of a tree is built the first time a property is looked up in it and is reused for as long as the tree is
+ * reachable. Because trees are immutable, a changed file is a new tree instance and gets a new index, so an index never
+ * refers to stale nodes. Lookups of keys containing a glob fall back to {@link FindProperty} and {@link FindProperties}.
+ */
+public final class SpringPropertyIndex<T> {
+    private static final Map<Tree, SpringPropertyIndex<?>> INDEXES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final WeakReference<Tree> tree;
+    private final Map<String, Set<T>> propertiesByKey;
+
+    private SpringPropertyIndex(Tree tree, Map<String, Set<T>> propertiesByKey) {
+        this.tree = new WeakReference<>(tree);
+        this.propertiesByKey = propertiesByKey;
+    }
+
+    /**
+     * Equivalent to {@code FindProperty.find(yaml, propertyKey, true)}.
+     *
+     * @param yaml        The YAML documents or document to search.
+     * @param propertyKey The property key to look for, in any relaxed binding form.
+     * @return The values of all entries in the YAML matching the property key.
+     */
+    public static Set<Yaml.Block> find(Yaml yaml, String propertyKey) {
+        if (propertyKey.contains("*")) {
+            return FindProperty.find(yaml, propertyKey, true);
+        }
+        return indexOf(yaml, SpringPropertyIndex::indexYaml).get(propertyKey);
+    }
+
+    /**
+     * Equivalent to {@code FindProperties.find(properties, propertyKey, true)}.
+     *
+     * @param properties  The properties file to search.
+     * @param propertyKey The property key to look for, in any relaxed binding form.
+     * @return All entries in the properties file matching the property key.
+     */
+    public static Set<Properties.Entry> find(Properties properties, String propertyKey) {
+        if (propertyKey.contains("*")) {
+            return FindProperties.find(properties, propertyKey, true);
+        }
+        return indexOf(properties, SpringPropertyIndex::indexProperties).get(propertyKey);
+    }
+
+    private Set<T> get(String propertyKey) {
+        return Collections.unmodifiableSet(propertiesByKey.getOrDefault(SpringPropertyKeys.canonical(propertyKey), Collections.emptySet()));
+    }
+
+    private static <T, S extends Tree> SpringPropertyIndex<T> indexOf(S tree, Function<S, Map<String, Set<T>>> indexer) {
+        //noinspection unchecked
+        SpringPropertyIndex<T> index = (SpringPropertyIndex<T>) INDEXES.get(tree);
+        // tree equality is by id, so the index may belong to an earlier version of the same file
+        if (index == null || index.tree.get() != tree) {
+            index = new SpringPropertyIndex<>(tree, indexer.apply(tree));
+            INDEXES.put(tree, index);
+        }
+        return index;
+    }
+
+    private static Map<String, Set<Yaml.Block>> indexYaml(Yaml yaml) {
+        Map<String, Set<Yaml.Block>> index = new HashMap<>();
+        new YamlIsoVisitor<Map<String, Set<Yaml.Block>>>() {
+            @Override
+            public Yaml.Mapping.Entry visitMappingEntry(Yaml.Mapping.Entry entry, Map<String, Set<Yaml.Block>> index) {
+                StringBuilder key = new StringBuilder(entry.getKey().getValue());
+                for (Cursor c = getCursor().getParent(); c != null; c = c.getParent()) {
+                    if (c.getValue() instanceof Yaml.Mapping.Entry) {
+                        key.insert(0, '.').insert(0, ((Yaml.Mapping.Entry) c.getValue()).getKey().getValue());
+                    }
+                }
+                index.computeIfAbsent(SpringPropertyKeys.canonical(key.toString()), k -> new LinkedHashSet<>())
+                        .add(entry.getValue());
+                return super.visitMappingEntry(entry, index);
+            }
+        }.visit(yaml, index);
+        return index;
+    }
+
+    private static Map<String, Set<Properties.Entry>> indexProperties(Properties properties) {
+        Map<String, Set<Properties.Entry>> index = new HashMap<>();
+        new PropertiesIsoVisitor<Map<String, Set<Properties.Entry>>>() {
+            @Override
+            public Properties.Entry visitEntry(Properties.Entry entry, Map<String, Set<Properties.Entry>> index) {
+                index.computeIfAbsent(SpringPropertyKeys.canonical(entry.getKey()), k -> new LinkedHashSet<>())
+                        .add(entry);
+                return super.visitEntry(entry, index);
+            }
+        }.visit(properties, index);
+        return index;
+    }
+}
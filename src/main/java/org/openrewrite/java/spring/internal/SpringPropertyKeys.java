@@ -0,0 +1,76 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import org.openrewrite.internal.NameCaseConvention;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Conversions of spring property keys between their relaxed binding forms. The same keys are seen over and over
+ * again across the configuration files of many modules, so the result of each conversion is memoized. Each cache is
+ * bounded, and is simply emptied when it fills up.
+ */
+public final class SpringPropertyKeys {
+    static final int MAX_CACHED_KEYS = 16_384;
+
+    static final Map<String, String> CANONICAL = new ConcurrentHashMap<>();
+    static final Map<String, String> KEBAB_CASE = new ConcurrentHashMap<>();
+
+    private SpringPropertyKeys() {
+    }
+
+    /**
+     * @param propertyKey A property key, in any relaxed binding form.
+     * @return The canonical relaxed binding form of the whole key (lower case, without '-' and '_').
+     */
+    public static String canonical(String propertyKey) {
+        return memoize(CANONICAL, propertyKey, SpringPropertyKeys::toCanonical);
+    }
+
+    /**
+     * @param propertyKey A property key, in any relaxed binding form.
+     * @return The key in the recommended kebab-case form, like `spring.main.show-banner`.
+     */
+    public static String kebabCase(String propertyKey) {
+        return memoize(KEBAB_CASE, propertyKey, NameCaseConvention.LOWER_HYPHEN::format);
+    }
+
+    private static String memoize(Map<String, String> cache, String propertyKey, Function<String, String> conversion) {
+        String converted = cache.get(propertyKey);
+        if (converted == null) {
+            if (cache.size() >= MAX_CACHED_KEYS) {
+                cache.clear();
+            }
+            converted = conversion.apply(propertyKey);
+            cache.put(propertyKey, converted);
+        }
+        return converted;
+    }
+
+    private static String toCanonical(String propertyKey) {
+        StringBuilder canonical = new StringBuilder(propertyKey.length());
+        for (int i = 0; i < propertyKey.length(); i++) {
+            char c = propertyKey.charAt(i);
+            if (c != '-' && c != '_') {
+                canonical.append(Character.toLowerCase(c));
+            }
+        }
+        return canonical.toString();
+    }
+}
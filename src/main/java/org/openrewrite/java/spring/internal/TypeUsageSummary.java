@@ -0,0 +1,142 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import org.openrewrite.java.tree.Flag;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaSourceFile;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * The fully qualified names of every type a compilation unit refers to, in the same places
+ * {@link org.openrewrite.java.search.UsesType} looks: its types in use, the declaring types of the static methods it
+ * calls, and the type names of its imports, which for a static import is the type declaring the imported member. So
+ * checking whether a compilation unit uses any of many types is a few hash lookups rather than one pass over the
+ * compilation unit per type. The declaring types of instance methods are left out, as UsesType leaves them out, so
+ * that calling an inherited method doesn't count as using the supertype declaring it.
+ * <P>
+ * The summary of a compilation unit is built the first time it is asked for and is reused for as long as the
+ * compilation unit is reachable. Because trees are immutable, a changed compilation unit is a new tree instance and gets
+ * a new summary, so a summary never reflects a stale tree.
+ */
+public final class TypeUsageSummary {
+    private static final Map<String, Pattern> GLOBS = new ConcurrentHashMap<>();
+    private static final Map<JavaSourceFile, TypeUsageSummary> SUMMARIES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final WeakReference<JavaSourceFile> sourceFile;
+    private final Set<String> fullyQualifiedNames;
+
+    private TypeUsageSummary(JavaSourceFile sourceFile, Set<String> fullyQualifiedNames) {
+        this.sourceFile = new WeakReference<>(sourceFile);
+        this.fullyQualifiedNames = fullyQualifiedNames;
+    }
+
+    public static TypeUsageSummary of(JavaSourceFile sourceFile) {
+        TypeUsageSummary summary = SUMMARIES.get(sourceFile);
+        // tree equality is by id, so the summary may belong to an earlier version of the same file
+        if (summary == null || summary.sourceFile.get() != sourceFile) {
+            summary = new TypeUsageSummary(sourceFile, summarize(sourceFile));
+            SUMMARIES.put(sourceFile, summary);
+        }
+        return summary;
+    }
+
+    /**
+     * @param fullyQualifiedTypeNames Fully qualified type names, or glob expressions like `org.jooq.*`, as accepted by
+     *                                {@link org.openrewrite.java.search.UsesType}.
+     * @return Whether the compilation unit uses any of the types.
+     */
+    public boolean usesAny(Collection<String> fullyQualifiedTypeNames) {
+        for (String fullyQualifiedTypeName : fullyQualifiedTypeNames) {
+            if (uses(fullyQualifiedTypeName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean uses(String fullyQualifiedTypeName) {
+        return anyMatches(fullyQualifiedTypeName, fullyQualifiedNames);
+    }
+
+    /**
+     * @param glob  A name, or a glob expression where `*` matches within one segment of a dotted name and `**` matches
+     *              across segments.
+     * @param names The names to match.
+     * @return Whether any of the names matches the glob.
+     */
+    private static boolean anyMatches(String glob, Set<String> names) {
+        if (!glob.contains("*")) {
+            return names.contains(glob);
+        }
+        Pattern pattern = GLOBS.computeIfAbsent(glob, TypeUsageSummary::globPattern);
+        for (String name : names) {
+            if (pattern.matcher(name).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Set<String> getFullyQualifiedNames() {
+        return Collections.unmodifiableSet(fullyQualifiedNames);
+    }
+
+    private static Pattern globPattern(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '*') {
+                if (i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                    regex.append(".*");
+                    i++;
+                } else {
+                    regex.append("[^.]*");
+                }
+            } else if (c == '.' || c == '$') {
+                regex.append('\\').append(c);
+            } else {
+                regex.append(c);
+            }
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    private static Set<String> summarize(JavaSourceFile sourceFile) {
+        Set<String> fullyQualifiedNames = new HashSet<>();
+        for (JavaType type : sourceFile.getTypesInUse().getTypesInUse()) {
+            JavaType.FullyQualified fullyQualified = TypeUtils.asFullyQualified(type);
+            if (fullyQualified != null) {
+                fullyQualifiedNames.add(fullyQualified.getFullyQualifiedName());
+            }
+        }
+        for (JavaType.Method method : sourceFile.getTypesInUse().getUsedMethods()) {
+            if (method.hasFlags(Flag.Static) && method.getDeclaringType() != null) {
+                fullyQualifiedNames.add(method.getDeclaringType().getFullyQualifiedName());
+            }
+        }
+        for (J.Import anImport : sourceFile.getImports()) {
+            fullyQualifiedNames.add(anImport.getTypeName());
+        }
+        return fullyQualifiedNames;
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.search;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.spring.SpringExecutionContextView;
+import org.openrewrite.java.spring.SpringProjectFingerprint;
+
+import java.util.List;
+
+/**
+ * Records the {@link SpringProjectFingerprint} of each module in the execution context, without changing any source
+ * file. Listed first in a composite recipe, it lets every later sub-recipe with a {@link HasSpringProjectFeature}
+ * applicability test be skipped for the modules that don't use the feature it migrates.
+ */
+public class FingerprintSpringProject extends Recipe {
+
+    @Override
+    public String getDisplayName() {
+        return "Fingerprint the Spring features of a project";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Records the Spring Boot configuration files of each module, so that the sub-recipes of a migration " +
+               "that can't apply to a module are skipped.";
+    }
+
+    @Override
+    protected List<SourceFile> visit(List<SourceFile> before, ExecutionContext ctx) {
+        SpringExecutionContextView.view(ctx).setProjectFingerprints(SpringProjectFingerprint.byModule(before, ctx));
+        return before;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.search;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.openrewrite.*;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.spring.SpringExecutionContextView;
+import org.openrewrite.java.spring.SpringProjectFingerprint;
+import org.openrewrite.marker.SearchResult;
+
+/**
+ * An applicability test that consults the {@link SpringProjectFingerprint} recorded by
+ * {@link FingerprintSpringProject}, and so answers for the whole module without visiting any tree. If no fingerprint has
+ * been recorded for a source file, its module has the feature.
+ */
+@Value
+@EqualsAndHashCode(callSuper = true)
+public class HasSpringProjectFeature extends Recipe {
+
+    @Option(displayName = "Configuration files",
+            description = "Whether the module having any application or bootstrap configuration file is enough.",
+            required = false,
+            example = "true")
+    @Nullable
+    Boolean configurationFiles;
+
+    @Override
+    public String getDisplayName() {
+        return "Project uses a Spring feature";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Marks the source files of a module that has the Spring feature, as recorded by `FingerprintSpringProject`.";
+    }
+
+    @Override
+    protected TreeVisitor<?, ExecutionContext> getVisitor() {
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (tree instanceof SourceFile && hasFeature(SpringExecutionContextView.view(ctx).getProjectFingerprint((SourceFile) tree))) {
+                    return SearchResult.found(tree);
+                }
+                return tree;
+            }
+        };
+    }
+
+    private boolean hasFeature(@Nullable SpringProjectFingerprint fingerprint) {
+        return fingerprint == null || (Boolean.TRUE.equals(configurationFiles) && fingerprint.hasConfigurationFiles());
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.search;
+
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.spring.internal.TypeUsageSummary;
+import org.openrewrite.java.tree.JavaSourceFile;
+import org.openrewrite.marker.SearchResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The equivalent of scheduling a {@link org.openrewrite.java.search.UsesType} for each of several types, where a
+ * compilation unit is marked if it uses any of them, answered from a single cached {@link TypeUsageSummary} of the
+ * compilation unit rather than one visit per type. Intended as a single source applicability test.
+ */
+public class UsesAnyType<P> extends JavaIsoVisitor<P> {
+    private final List<String> fullyQualifiedTypeNames;
+
+    /**
+     * @param fullyQualifiedTypeNames Fully qualified type names, or glob expressions like `org.jooq.*`.
+     */
+    public UsesAnyType(String... fullyQualifiedTypeNames) {
+        this(Arrays.asList(fullyQualifiedTypeNames));
+    }
+
+    public UsesAnyType(Collection<String> fullyQualifiedTypeNames) {
+        this.fullyQualifiedTypeNames = new ArrayList<>(fullyQualifiedTypeNames);
+    }
+
+    @Override
+    public JavaSourceFile visitJavaSourceFile(JavaSourceFile cu, P p) {
+        if (TypeUsageSummary.of(cu).usesAny(fullyQualifiedTypeNames)) {
+            return SearchResult.found(cu);
+        }
+        return cu;
+    }
+}
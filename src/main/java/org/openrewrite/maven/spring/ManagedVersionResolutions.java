@@ -0,0 +1,101 @@
+/*
+ * Copyright 2021 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openrewrite.maven.spring;
+
+import lombok.Value;
+import org.openrewrite.java.spring.SpringRepositories;
+import org.openrewrite.maven.MavenDownloadingException;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Resolutions of the versions managed by a BOM, shared across recipe runs. A resolution depends on the repositories it
+ * is resolved against and on the directory its result is cached in, so results are only shared between runs that agree
+ * on both.
+ * <P>
+ * The first caller for a key resolves it, any concurrent callers wait for that resolution, and every later caller reads
+ * the result without blocking. A failure is rethrown to every caller until it is old enough to be retried.
+ */
+final class ManagedVersionResolutions {
+    private final Map<Key, Resolution> resolutions = new ConcurrentHashMap<>();
+    private final LongSupplier clock;
+    private final long retryFailedResolutionAfterMillis;
+
+    ManagedVersionResolutions(LongSupplier clock, long retryFailedResolutionAfterMillis) {
+        this.clock = clock;
+        this.retryFailedResolutionAfterMillis = retryFailedResolutionAfterMillis;
+    }
+
+    Map<String, String> get(Key key, Resolver resolver) throws MavenDownloadingException {
+        Resolution resolution = resolutions.computeIfAbsent(key, k -> new Resolution());
+        if (isRetryable(resolution)) {
+            Resolution retry = new Resolution();
+            resolution = resolutions.replace(key, resolution, retry) ? retry : resolutions.get(key);
+        }
+
+        if (resolution.claimed.compareAndSet(false, true)) {
+            try {
+                resolution.managedVersions.complete(resolver.resolve());
+            } catch (Throwable t) {
+                // completed even on errors, so that no caller waits forever for this resolution
+                resolution.failedAt = clock.getAsLong();
+                resolution.managedVersions.completeExceptionally(t);
+            }
+        }
+
+        try {
+            return resolution.managedVersions.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof MavenDownloadingException) {
+                throw (MavenDownloadingException) e.getCause();
+            } else if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private boolean isRetryable(Resolution resolution) {
+        return resolution.failedAt != 0 && clock.getAsLong() - resolution.failedAt > retryFailedResolutionAfterMillis;
+    }
+
+    @Value
+    static class Key {
+        String version;
+        SpringRepositories repositories;
+        Path cacheDirectory;
+    }
+
+    @FunctionalInterface
+    interface Resolver {
+        Map<String, String> resolve() throws MavenDownloadingException;
+    }
+
+    private static class Resolution {
+        private final CompletableFuture<Map<String, String>> managedVersions = new CompletableFuture<>();
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private volatile long failedAt;
+    }
+}
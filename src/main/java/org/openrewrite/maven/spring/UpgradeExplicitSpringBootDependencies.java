@@ -17,12 +17,14 @@
 package org.openrewrite.maven.spring;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
-import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.EqualsAndHashCode;
 import org.openrewrite.*;
 import org.openrewrite.internal.lang.NonNull;
 import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.spring.SpringExecutionContextView;
+import org.openrewrite.java.spring.SpringRepositories;
+import org.openrewrite.java.spring.internal.ManagedVersionsCache;
 import org.openrewrite.marker.SearchResult;
 import org.openrewrite.maven.MavenDownloadingException;
 import org.openrewrite.maven.MavenIsoVisitor;
@@ -32,9 +34,10 @@ import org.openrewrite.maven.tree.*;
 import org.openrewrite.semver.XRange;
 import org.openrewrite.xml.tree.Xml;
 
+import java.io.IOException;
 import java.nio.file.Path;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 @EqualsAndHashCode(callSuper = true)
 public class UpgradeExplicitSpringBootDependencies extends Recipe {
@@ -42,8 +45,12 @@ public class UpgradeExplicitSpringBootDependencies extends Recipe {
     private static final String SPRINGBOOT_GROUP = "org.springframework.boot";
     private static final String SPRING_BOOT_DEPENDENCIES = "spring-boot-dependencies";
 
-    @JsonIgnore
-    private final Map<String, String> springBootDependenciesMap = new ConcurrentHashMap<>();
+    /**
+     * Shared by every recipe instance, so that each version of spring-boot-dependencies is resolved once per JVM for
+     * each repository configuration.
+     */
+    private static final ManagedVersionResolutions RESOLUTIONS =
+            new ManagedVersionResolutions(System::currentTimeMillis, TimeUnit.MINUTES.toMillis(5));
 
     @Option(displayName = "From Spring Version",
             description = "XRage pattern for spring version used to limit which projects should be updated",
@@ -71,39 +78,81 @@ public class UpgradeExplicitSpringBootDependencies extends Recipe {
         return "Upgrades un-managed spring-boot project dependencies according to the specified spring-boot version.";
     }
 
-    private synchronized void buildDependencyMap() throws MavenDownloadingException {
-        if (springBootDependenciesMap.isEmpty()) {
-            Map<Path, Pom> poms = new HashMap<>();
-            MavenPomDownloader downloader = new MavenPomDownloader(poms, new InMemoryExecutionContext());
-            GroupArtifactVersion gav = new GroupArtifactVersion(SPRINGBOOT_GROUP, SPRING_BOOT_DEPENDENCIES, toVersion);
-            String relativePath = "";
-            List<MavenRepository> repositories = new ArrayList<>();
-            repositories.add(MavenRepository.builder()
-                    .id("repository.spring.milestone")
-                    .uri("https://repo.spring.io/milestone")
-                    .releases(true)
-                    .snapshots(true)
-                    .build());
-            repositories.add(MavenRepository.builder()
-                    .id("spring-snapshot")
-                    .uri("https://repo.spring.io/snapshote")
-                    .releases(false)
-                    .snapshots(true)
-                    .build());
-            repositories.add(MavenRepository.builder()
-                    .id("spring-release")
-                    .uri("https://repo.spring.io/release")
-                    .releases(true)
-                    .snapshots(false)
-                    .build());
-            Pom pom = downloader.download(gav, relativePath, null, repositories);
-            ResolvedPom resolvedPom = pom.resolve(Collections.emptyList(), downloader, repositories, new InMemoryExecutionContext());
-            List<ResolvedManagedDependency> dependencyManagement = resolvedPom.getDependencyManagement();
-            dependencyManagement
-                    .stream()
-                    .filter(d -> d.getVersion() != null)
-                    .forEach(d -> springBootDependenciesMap.put(d.getGroupId() + ":" + d.getArtifactId().toLowerCase(), d.getVersion()));
+    /**
+     * @return The versions managed by spring-boot-dependencies, by `groupId:artifactId`.
+     */
+    private static Map<String, String> springBootDependencies(ExecutionContext ctx, String toVersion) throws MavenDownloadingException {
+        SpringExecutionContextView view = SpringExecutionContextView.view(ctx);
+        ManagedVersionResolutions.Key key = new ManagedVersionResolutions.Key(toVersion,
+                view.getSpringRepositories(), view.getBomCacheDirectory());
+        return RESOLUTIONS.get(key, () -> buildDependencyMap(ctx, toVersion));
+    }
+
+    private static Map<String, String> buildDependencyMap(ExecutionContext ctx, String toVersion) throws MavenDownloadingException {
+        Path cacheDirectory = SpringExecutionContextView.view(ctx).getBomCacheDirectory();
+        try {
+            // the tables of known releases are generated when these recipes are built
+            Map<String, String> cached = ManagedVersionsCache.readBundled(SPRING_BOOT_DEPENDENCIES, toVersion);
+            if (cached == null) {
+                cached = ManagedVersionsCache.read(cacheDirectory, SPRING_BOOT_DEPENDENCIES, toVersion);
+            }
+            if (cached != null) {
+                return cached;
+            }
+        } catch (IOException e) {
+            ctx.getOnError().accept(e);
+        }
+
+        Map<String, String> managedVersions = Collections.unmodifiableMap(resolveDependencyMap(ctx, toVersion));
+        try {
+            ManagedVersionsCache.write(cacheDirectory, SPRING_BOOT_DEPENDENCIES, toVersion, managedVersions);
+        } catch (IOException e) {
+            ctx.getOnError().accept(e);
         }
+        return managedVersions;
+    }
+
+    /**
+     * @return The versions managed by spring-boot-dependencies, by `groupId:artifactId`, resolved from the Spring
+     * repositories. Also used to generate the bundled tables when these recipes are built.
+     */
+    static Map<String, String> resolveDependencyMap(ExecutionContext ctx, String toVersion) throws MavenDownloadingException {
+        Map<Path, Pom> poms = new HashMap<>();
+        MavenPomDownloader downloader = new MavenPomDownloader(poms, new InMemoryExecutionContext());
+        GroupArtifactVersion gav = new GroupArtifactVersion(SPRINGBOOT_GROUP, SPRING_BOOT_DEPENDENCIES, toVersion);
+        String relativePath = "";
+        SpringRepositories springRepositories = SpringExecutionContextView.view(ctx).getSpringRepositories();
+        List<MavenRepository> repositories = new ArrayList<>();
+        repositories.add(MavenRepository.builder()
+                .id("repository.spring.milestone")
+                .uri(springRepositories.mirror(springRepositories.getSpringMilestones()))
+                .releases(true)
+                .snapshots(true)
+                .build());
+        repositories.add(MavenRepository.builder()
+                .id("spring-snapshot")
+                .uri(springRepositories.mirror(springRepositories.getSpringSnapshots()))
+                .releases(false)
+                .snapshots(true)
+                .build());
+        repositories.add(MavenRepository.builder()
+                .id("spring-release")
+                .uri(springRepositories.mirror(springRepositories.getSpringReleases()))
+                .releases(true)
+                .snapshots(false)
+                .build());
+        if (springRepositories.isOffline()) {
+            repositories.removeIf(repository -> !SpringRepositories.isLocal(repository.getUri()));
+        }
+        Pom pom = downloader.download(gav, relativePath, null, repositories);
+        ResolvedPom resolvedPom = pom.resolve(Collections.emptyList(), downloader, repositories, new InMemoryExecutionContext());
+        List<ResolvedManagedDependency> dependencyManagement = resolvedPom.getDependencyManagement();
+        Map<String, String> managedVersions = new HashMap<>();
+        dependencyManagement
+                .stream()
+                .filter(d -> d.getVersion() != null)
+                .forEach(d -> managedVersions.put(d.getGroupId() + ":" + d.getArtifactId().toLowerCase(), d.getVersion()));
+        return managedVersions;
     }
 
     @Override
@@ -144,10 +193,12 @@ public class UpgradeExplicitSpringBootDependencies extends Recipe {
     @Override
     protected TreeVisitor<?, ExecutionContext> getVisitor() {
         return new MavenIsoVisitor<ExecutionContext>() {
+            private Map<String, String> springBootDependenciesMap = Collections.emptyMap();
+
             @Override
             public Xml.Document visitDocument(Xml.Document document, ExecutionContext executionContext) {
                 try {
-                    buildDependencyMap();
+                    springBootDependenciesMap = springBootDependencies(executionContext, toVersion);
                 } catch (MavenDownloadingException e) {
                     return e.warn(document);
                 }
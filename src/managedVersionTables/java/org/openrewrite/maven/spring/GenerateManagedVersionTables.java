@@ -0,0 +1,65 @@
+/*
+ * Copyright 2021 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.maven.spring;
+
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.spring.internal.ManagedVersionsCache;
+import org.openrewrite.java.spring.internal.SpringBootReleases;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Set;
+
+/**
+ * Generates the managed version tables of every Spring Boot 2.x and 3.x release, which are bundled with the recipes in
+ * META-INF/rewrite/managed-versions. Run by the {@code generateManagedVersionTables} task of the build, with the
+ * directory to write the tables to as its only argument.
+ * <P>
+ * Tables that already exist are kept, as a release's BOM never changes, so only new releases are resolved. A release
+ * that can't be resolved, or the whole list of releases when the Spring repositories are unreachable, is skipped with
+ * a warning rather than failing the build, and is resolved at runtime instead.
+ */
+public class GenerateManagedVersionTables {
+    public static void main(String[] args) throws IOException {
+        Path tables = Paths.get(args[0]);
+        InMemoryExecutionContext ctx = new InMemoryExecutionContext(t -> System.out.println("warning: " + t.getMessage()));
+
+        Set<String> releases;
+        try {
+            releases = new SpringBootReleases(false).allReleases();
+        } catch (RuntimeException e) {
+            System.out.println("warning: unable to list Spring Boot releases, no managed version tables are generated: " + e.getMessage());
+            return;
+        }
+
+        for (String version : releases) {
+            if (!version.startsWith("2.") && !version.startsWith("3.")) {
+                continue;
+            }
+            if (Files.exists(tables.resolve("spring-boot-dependencies-" + version + ".tsv.gz"))) {
+                continue;
+            }
+            try {
+                ManagedVersionsCache.writeBundled(tables, "spring-boot-dependencies", version,
+                        UpgradeExplicitSpringBootDependencies.resolveDependencyMap(ctx, version));
+            } catch (Exception e) {
+                System.out.println("warning: unable to resolve spring-boot-dependencies " + version + ": " + e.getMessage());
+            }
+        }
+    }
+}
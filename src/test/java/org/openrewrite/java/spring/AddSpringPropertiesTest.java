@@ -0,0 +1,217 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.test.RewriteTest;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.openrewrite.properties.Assertions.properties;
+import static org.openrewrite.yaml.Assertions.yaml;
+
+public class AddSpringPropertiesTest implements RewriteTest {
+
+    private static Map<String, String> orderedMap(String... keysAndValues) {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            map.put(keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return map;
+    }
+
+    @Test
+    void addManyProperties() {
+        rewriteRun(
+          spec -> spec.recipe(new AddSpringProperties(orderedMap(
+            "server.servlet.path", "/tmp/my-server-path",
+            "server.shutdown", "graceful",
+            "fred", "fred"
+          ), null, List.of("*"))),
+          properties(
+            """
+              server.port=8080
+              """,
+            """
+              server.port=8080
+              server.servlet.path=/tmp/my-server-path
+              server.shutdown=graceful
+              fred=fred
+              """
+          ),
+          yaml(
+            """
+              server:
+                port: 8080
+              """,
+            """
+              server:
+                port: 8080
+                servlet:
+                  path: /tmp/my-server-path
+                shutdown: graceful
+              fred: fred
+              """
+          )
+        );
+    }
+
+    @Test
+    void propertiesAlreadyExist() {
+        rewriteRun(
+          spec -> spec.recipe(new AddSpringProperties(orderedMap(
+            "server.port", "9090",
+            "server.shutdown", "graceful"
+          ), null, List.of("*"))),
+          properties(
+            """
+              server.port=8080
+              """,
+            """
+              server.port=8080
+              server.shutdown=graceful
+              """
+          ),
+          yaml(
+            """
+              server:
+                port: 8080
+                shutdown: immediate
+              """
+          )
+        );
+    }
+
+    @Test
+    void addPropertiesWithComments() {
+        rewriteRun(
+          spec -> spec.recipe(new AddSpringProperties(orderedMap(
+            "server.servlet.path", "/tmp/my-server-path",
+            "server.shutdown", "graceful"
+          ), Map.of("server.shutdown", "This property was added"), List.of("*"))),
+          yaml(
+            """
+              server:
+                port: 8080
+              """,
+            """
+              server:
+                port: 8080
+                servlet:
+                  path: /tmp/my-server-path
+                # This property was added
+                shutdown: graceful
+              """
+          )
+        );
+    }
+
+    @Test
+    void escapePropertiesValues() {
+        rewriteRun(
+          spec -> spec.recipe(new AddSpringProperties(orderedMap(
+            "logging.file.path", "C:\\logs",
+            "app.banner", "  hello\nworld"
+          ), null, List.of("*"))),
+          properties(
+            """
+              server.port=8080
+              """,
+            """
+              server.port=8080
+              logging.file.path=C:\\\\logs
+              app.banner=\\  hello\\nworld
+              """
+          )
+        );
+    }
+
+    @Test
+    void parentAndChildKeys() {
+        rewriteRun(
+          spec -> spec.recipe(new AddSpringProperties(orderedMap(
+            "app.cache", "simple",
+            "app.cache.size", "100"
+          ), null, List.of("*"))),
+          properties(
+            """
+              server.port=8080
+              """,
+            """
+              server.port=8080
+              app.cache=simple
+              app.cache.size=100
+              """
+          ),
+          yaml(
+            """
+              server:
+                port: 8080
+              """,
+            """
+              server:
+                port: 8080
+              app:
+                cache: simple
+                cache.size: 100
+              """
+          )
+        );
+    }
+
+    @Test
+    void childKeyBeforeParentKey() {
+        rewriteRun(
+          spec -> spec.recipe(new AddSpringProperties(orderedMap(
+            "app.cache.size", "100",
+            "app.cache", "simple"
+          ), null, List.of("*"))),
+          yaml(
+            """
+              server:
+                port: 8080
+              """,
+            """
+              server:
+                port: 8080
+              app:
+                cache:
+                  size: 100
+              app.cache: simple
+              """
+          )
+        );
+    }
+
+    @Test
+    void yamlPropertyExistsInRelaxedForm() {
+        rewriteRun(
+          spec -> spec.recipe(new AddSpringProperties(orderedMap(
+            "server.maxHttpHeaderSize", "16KB",
+            "app.cache.size", "100"
+          ), null, List.of("*"))),
+          yaml(
+            """
+              server:
+                max-http-header-size: 8KB
+              app.cache.size: 50
+              """
+          )
+        );
+    }
+}
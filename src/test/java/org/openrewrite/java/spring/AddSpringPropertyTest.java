@@ -179,4 +179,46 @@ public class AddSpringPropertyTest implements RewriteTest {
                 )
         );
     }
+
+    @Test
+    void defaultPathsMatchApplicationFilesOnly() {
+        rewriteRun(
+                spec -> spec.recipe(new AddSpringProperty("server.shutdown", "graceful", null, null)),
+                properties(
+                        """
+                        server.port=8080
+                        """,
+                        """
+                        server.port=8080
+                        server.shutdown=graceful
+                        """,
+                        s -> s.path("application.properties")
+                ),
+                yaml(
+                        """
+                        server:
+                          port: 8080
+                        """,
+                        """
+                        server:
+                          port: 8080
+                          shutdown: graceful
+                        """,
+                        s -> s.path("src/main/resources/application.yaml")
+                ),
+                properties(
+                        """
+                        server.port=8080
+                        """,
+                        s -> s.path("src/main/resources/application-dev.properties")
+                ),
+                yaml(
+                        """
+                        server:
+                          port: 8080
+                        """,
+                        s -> s.path("src/main/resources/bootstrap.yml")
+                )
+        );
+    }
 }
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.java.spring.ChangeSpringPropertyKeys.PropertyKeyChange;
+import org.openrewrite.test.RewriteTest;
+
+import java.util.List;
+
+import static org.openrewrite.properties.Assertions.properties;
+import static org.openrewrite.yaml.Assertions.yaml;
+
+public class ChangeSpringPropertyKeysTest implements RewriteTest {
+
+    @Test
+    void changeManyKeys() {
+        rewriteRun(
+          spec -> spec.recipe(new ChangeSpringPropertyKeys(List.of(
+            new PropertyKeyChange("server.servlet-path", "server.servlet.path", null),
+            new PropertyKeyChange("spring.resources", "spring.web.resources", null),
+            new PropertyKeyChange("not.present", "still.not.present", null)
+          ))),
+          properties(
+            """
+              server.servlet-path=/tmp/my-server-path
+              spring.resources.chain.enabled=true
+              server.port=8080
+              """,
+            """
+              server.servlet.path=/tmp/my-server-path
+              spring.web.resources.chain.enabled=true
+              server.port=8080
+              """
+          ),
+          yaml(
+            """
+                  server:
+                    servlet-path: /tmp/my-server-path
+                  spring:
+                    resources:
+                      chain:
+                        enabled: true
+              """,
+            """
+                  server:
+                    servlet.path: /tmp/my-server-path
+                  spring:
+                    web.resources:
+                      chain:
+                        enabled: true
+              """
+          )
+        );
+    }
+
+    @Test
+    void laterChangesApplyToChangedKeys() {
+        rewriteRun(
+          spec -> spec.recipe(new ChangeSpringPropertyKeys(List.of(
+            new PropertyKeyChange("a.b", "a.c", null),
+            new PropertyKeyChange("a.c", "a.d", null)
+          ))),
+          properties(
+            """
+              a.b=true
+              """,
+            """
+              a.d=true
+              """
+          )
+        );
+    }
+
+    @Test
+    void relaxedBinding() {
+        rewriteRun(
+          spec -> spec.recipe(new ChangeSpringPropertyKeys(List.of(
+            new PropertyKeyChange("spring.main.show-banner", "spring.main.banner-mode", null)
+          ))),
+          properties(
+            """
+              spring.main.showBanner=true
+              """,
+            """
+              spring.main.banner-mode=true
+              """
+          )
+        );
+    }
+
+    @Test
+    void except() {
+        rewriteRun(
+          spec -> spec.recipe(new ChangeSpringPropertyKeys(List.of(
+            new PropertyKeyChange("spring.profiles", "spring.config.activate.on-profile", List.of("active", "default", "group", "include"))
+          ))),
+          properties(
+            """
+              spring.profiles.group.local= local-security, local-db
+              """
+          ),
+          yaml(
+            """
+                spring:
+                  profiles:
+                    group:
+                      local:
+                        - local-security
+                        - local-db
+              """
+          )
+        );
+    }
+}
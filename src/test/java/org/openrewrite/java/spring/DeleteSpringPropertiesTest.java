@@ -0,0 +1,97 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.test.RewriteTest;
+
+import java.util.List;
+
+import static org.openrewrite.properties.Assertions.properties;
+import static org.openrewrite.yaml.Assertions.yaml;
+
+public class DeleteSpringPropertiesTest implements RewriteTest {
+
+    @Test
+    void deleteManyKeys() {
+        rewriteRun(
+          spec -> spec.recipe(new DeleteSpringProperties(List.of(
+            "management.endpoint.configprops.additional-keys-to-sanitize",
+            "management.endpoint.env.additional-keys-to-sanitize"
+          ))),
+          properties(
+            """
+              management.endpoint.configprops.additional-keys-to-sanitize=secret
+              management.endpoint.env.additionalKeysToSanitize=secret
+              management.endpoint.env.enabled=true
+              """,
+            """
+              management.endpoint.env.enabled=true
+              """
+          ),
+          yaml(
+            """
+              management:
+                endpoint:
+                  configprops:
+                    additional-keys-to-sanitize: secret
+                  env:
+                    additional-keys-to-sanitize: secret
+                    enabled: true
+              server:
+                port: 8080
+              """,
+            """
+              management:
+                endpoint:
+                  env:
+                    enabled: true
+              server:
+                port: 8080
+              """
+          )
+        );
+    }
+
+    @Test
+    void deleteGlobAndEmptyParents() {
+        rewriteRun(
+          spec -> spec.recipe(new DeleteSpringProperties(List.of(
+            "management.endpoint.configprops.*",
+            "server.servlet-path"
+          ))),
+          yaml(
+            """
+              management:
+                endpoint:
+                  configprops:
+                    additional-keys-to-sanitize: secret
+                    enabled: true
+              server:
+                servlet-path: /tmp/my-server-path
+              spring:
+                application:
+                  name: app
+              """,
+            """
+              spring:
+                application:
+                  name: app
+              """
+          )
+        );
+    }
+}
@@ -75,14 +75,7 @@ public class GeneratePropertiesMigratorConfiguration {
 
             if (versionDir.mkdirs()) {
                 System.out.println("Downloading version " + version);
-                springBootReleases.download(version).forEach(download -> {
-                    try {
-                        Files.write(versionDir.toPath().resolve(download.getModuleName() + "-" +
-                                                                version + ".jar"), download.getBody());
-                    } catch (IOException e) {
-                        throw new UncheckedIOException(e);
-                    }
-                });
+                springBootReleases.download(version, versionDir.toPath(), 8);
             } else {
                 System.out.println("Using existing download of version " + version);
             }
@@ -116,18 +109,19 @@ public class GeneratePropertiesMigratorConfiguration {
                                     displayName: Migrate Spring Boot properties to %s.%s.%s
                                     description: Migrate properties found in `application.properties` and `application.yml`.
                                     recipeList:
+                                      - org.openrewrite.java.spring.ChangeSpringPropertyKeys:
+                                          keyChanges:
                                     """.formatted(majorMinor[0], majorMinor[1], majorMinor[2], majorMinor[0], majorMinor[1], majorMinor[2]).getBytes(),
                             StandardOpenOption.APPEND);
 
                     Files.write(config, replacements.stream()
                                     .map(r -> """
-                                              - org.openrewrite.java.spring.ChangeSpringPropertyKey:
-                                                oldPropertyKey: %s
-                                                newPropertyKey: %s
+                                                    - oldPropertyKey: %s
+                                                      newPropertyKey: %s
                                             """.formatted(
                                             r.name(), requireNonNull(r.deprecation()).replacement())
                                     )
-                                    .collect(joining("", "\n", "\n"))
+                                    .collect(joining("", "", "\n"))
                                     .getBytes(),
                             StandardOpenOption.APPEND);
                 }
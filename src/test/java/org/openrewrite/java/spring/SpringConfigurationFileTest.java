@@ -0,0 +1,64 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SpringConfigurationFileTest {
+
+    private static final List<String> DEFAULTS = List.of("**/application.yml", "**/application.properties", "**/application.yaml");
+
+    @Test
+    void application() {
+        SpringConfigurationFile file = SpringConfigurationFile.classify(Paths.get("src/main/resources/application.yml"), DEFAULTS);
+        assertThat(file.isApplication()).isTrue();
+        assertThat(file.isProfileSpecific()).isFalse();
+        assertThat(file.isDefaultApplicationConfiguration()).isTrue();
+    }
+
+    @Test
+    void profileSpecificApplication() {
+        SpringConfigurationFile file = SpringConfigurationFile.classify(Paths.get("src/main/resources/application-dev.properties"), DEFAULTS);
+        assertThat(file.isApplication()).isTrue();
+        assertThat(file.getProfile()).isEqualTo("dev");
+        assertThat(file.isDefaultApplicationConfiguration()).isFalse();
+    }
+
+    @Test
+    void bootstrap() {
+        SpringConfigurationFile file = SpringConfigurationFile.classify(Paths.get("application.yaml").resolveSibling("bootstrap.yaml"), DEFAULTS);
+        assertThat(file.isBootstrap()).isTrue();
+        assertThat(file.isProfileSpecific()).isFalse();
+    }
+
+    @Test
+    void other() {
+        assertThat(SpringConfigurationFile.classify(Paths.get("application.xml"), DEFAULTS).getKind())
+          .isEqualTo(SpringConfigurationFile.Kind.OTHER);
+        assertThat(SpringConfigurationFile.classify(Paths.get("applications.yml"), DEFAULTS).getKind())
+          .isEqualTo(SpringConfigurationFile.Kind.OTHER);
+    }
+
+    @Test
+    void noDefaultPathsMatchesEverything() {
+        assertThat(SpringConfigurationFile.classify(Paths.get("config/custom.yml"), List.of()).isDefaultApplicationConfiguration()).isTrue();
+    }
+}
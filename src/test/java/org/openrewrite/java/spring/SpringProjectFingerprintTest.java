@@ -0,0 +1,78 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.marker.JavaProject;
+import org.openrewrite.properties.PropertiesParser;
+import org.openrewrite.yaml.YamlParser;
+
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.Tree.randomId;
+
+class SpringProjectFingerprintTest {
+
+    @Test
+    void configurationFiles() {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        SourceFile application = properties("src/main/resources/application.properties");
+
+        SpringProjectFingerprint fingerprint = SpringProjectFingerprint.of(List.of(application), ctx);
+        assertThat(fingerprint.getConfigurationFiles()).containsExactly(SpringConfigurationFile.Kind.APPLICATION);
+        assertThat(fingerprint.hasConfigurationFiles()).isTrue();
+        assertThat(fingerprint.getSourceFileIds()).containsExactly(application.getId());
+    }
+
+    @Test
+    void otherFilesAreNotConfigurationFiles() {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        SourceFile workflow = new YamlParser().parse("on: push").get(0)
+          .withSourcePath(Paths.get(".github/workflows/ci.yml"));
+        SourceFile messages = properties("src/main/resources/messages.properties");
+
+        SpringProjectFingerprint fingerprint = SpringProjectFingerprint.of(List.of(workflow, messages), ctx);
+        assertThat(fingerprint.getConfigurationFiles()).isEmpty();
+        assertThat(fingerprint.hasConfigurationFiles()).isFalse();
+    }
+
+    @Test
+    void byModule() {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        JavaProject api = new JavaProject(randomId(), "api", null);
+        JavaProject app = new JavaProject(randomId(), "app", null);
+        SourceFile apiMessages = properties("api/src/main/resources/messages.properties");
+        apiMessages = apiMessages.withMarkers(apiMessages.getMarkers().add(api));
+        SourceFile appApplication = properties("app/src/main/resources/application.properties");
+        appApplication = appApplication.withMarkers(appApplication.getMarkers().add(app));
+
+        List<SpringProjectFingerprint> fingerprints = SpringProjectFingerprint.byModule(List.of(apiMessages, appApplication), ctx);
+        assertThat(fingerprints).hasSize(2);
+        assertThat(fingerprints.get(0).getSourceFileIds()).containsExactly(apiMessages.getId());
+        assertThat(fingerprints.get(0).hasConfigurationFiles()).isFalse();
+        assertThat(fingerprints.get(1).getSourceFileIds()).containsExactly(appApplication.getId());
+        assertThat(fingerprints.get(1).hasConfigurationFiles()).isTrue();
+    }
+
+    private static SourceFile properties(String sourcePath) {
+        return new PropertiesParser().parse("server.port=8080").get(0).withSourcePath(Paths.get(sourcePath));
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpringRepositoriesTest {
+
+    @Test
+    void notMirrored() {
+        assertThat(SpringRepositories.DEFAULT.mirror("https://repo.spring.io/milestone/org/springframework/boot"))
+          .isEqualTo("https://repo.spring.io/milestone/org/springframework/boot");
+    }
+
+    @Test
+    void mostSpecificMirror() {
+        var repositories = SpringRepositories.DEFAULT
+          .withMirror("https://repo.spring.io", "https://artifactory.example.com/spring")
+          .withMirror("https://repo.spring.io/milestone/", "https://artifactory.example.com/spring-milestone/");
+        assertThat(repositories.mirror("https://repo.spring.io/milestone/org/springframework/boot"))
+          .isEqualTo("https://artifactory.example.com/spring-milestone/org/springframework/boot");
+        assertThat(repositories.mirror("https://repo.spring.io/release/org/springframework/boot"))
+          .isEqualTo("https://artifactory.example.com/spring/release/org/springframework/boot");
+        assertThat(repositories.mirror("https://repo.spring.io.example.com/release"))
+          .isEqualTo("https://repo.spring.io.example.com/release");
+    }
+
+    @Test
+    void mirrorOfEverything() {
+        var repositories = SpringRepositories.DEFAULT
+          .withMirror("*", "file:///srv/maven")
+          .withSpringSnapshots("file:///srv/snapshots");
+        assertThat(repositories.mirror("https://repo1.maven.org/maven2/org/springframework/boot"))
+          .isEqualTo("file:///srv/maven/org/springframework/boot");
+        assertThat(repositories.mirror("file:///srv/snapshots/org/springframework/boot"))
+          .isEqualTo("file:///srv/snapshots/org/springframework/boot");
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.Cursor;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AnnotationFactoryTest {
+    private static final Cursor ROOT = new Cursor(null, "root");
+    private static final JavaType.FullyQualified BEAN = JavaType.ShallowClass.build("org.springframework.context.annotation.Bean");
+
+    @Test
+    void markerAnnotation() {
+        J.Annotation bean = AnnotationFactory.create(BEAN);
+        assertThat(bean.printTrimmed(ROOT)).isEqualTo("@Bean");
+        assertThat(TypeUtils.isOfClassType(bean.getType(), "org.springframework.context.annotation.Bean")).isTrue();
+    }
+
+    @Test
+    void singleValueArgument() {
+        J.Annotation profile = AnnotationFactory.create(JavaType.ShallowClass.build("org.springframework.context.annotation.Profile"),
+                Collections.singletonMap("value", "dev"));
+        assertThat(profile.printTrimmed(ROOT)).isEqualTo("@Profile(\"dev\")");
+    }
+
+    @Test
+    void namedArguments() {
+        Map<String, Object> arguments = new LinkedHashMap<>();
+        arguments.put("name", "data\"Source");
+        arguments.put("autowireCandidate", false);
+        assertThat(AnnotationFactory.create(BEAN, arguments).printTrimmed(ROOT))
+                .isEqualTo("@Bean(name = \"data\\\"Source\", autowireCandidate = false)");
+    }
+
+    @Test
+    void escapedArguments() {
+        Map<String, Object> arguments = new LinkedHashMap<>();
+        arguments.put("separator", '\\');
+        arguments.put("quote", '\'');
+        arguments.put("lines", "a\\b\nc");
+        assertThat(AnnotationFactory.create(BEAN, arguments).printTrimmed(ROOT))
+                .isEqualTo("@Bean(separator = '\\\\', quote = '\\'', lines = \"a\\\\b\\nc\")");
+    }
+
+    @Test
+    void assignmentNameIsUntyped() {
+        J.Annotation bean = AnnotationFactory.create(BEAN, Collections.singletonMap("autowireCandidate", false));
+        J.Assignment assignment = (J.Assignment) bean.getArguments().get(0);
+        assertThat(((J.Identifier) assignment.getVariable()).getType()).isNull();
+    }
+
+    @Test
+    void rejectsNonFiniteDoubles() {
+        assertThatThrownBy(() -> AnnotationFactory.create(BEAN, Collections.singletonMap("value", Double.NaN)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AnnotationFactory.create(BEAN, Collections.singletonMap("value", Double.NEGATIVE_INFINITY)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void eachMethodGetsItsOwnAnnotation() {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        StringBuilder source = new StringBuilder("class Config {\n");
+        for (int i = 0; i < 3; i++) {
+            source.append("    Object bean").append(i).append("() { return null; }\n");
+        }
+        source.append("}");
+        J.CompilationUnit cu = JavaParser.fromJavaVersion().build().parse(ctx, source.toString()).get(0);
+
+        J.CompilationUnit annotated = (J.CompilationUnit) new JavaIsoVisitor<ExecutionContext>() {
+            @Override
+            public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
+                J.MethodDeclaration m = super.visitMethodDeclaration(method, ctx);
+                return LeadingAnnotations.add(m, AnnotationFactory.create(BEAN), Comparator.comparing(J.Annotation::getSimpleName),
+                        ctx, getCursor().getParentOrThrow());
+            }
+        }.visit(cu, ctx);
+
+        assertThat(annotated).isNotNull();
+        Set<UUID> ids = new HashSet<>();
+        for (J statement : annotated.getClasses().get(0).getBody().getStatements()) {
+            J.MethodDeclaration method = (J.MethodDeclaration) statement;
+            assertThat(method.getLeadingAnnotations()).hasSize(1);
+            ids.add(method.getLeadingAnnotations().get(0).getId());
+        }
+        assertThat(ids).hasSize(3);
+        assertThat(annotated.printAll()).contains("    @Bean\n    Object bean2() { return null; }");
+    }
+}
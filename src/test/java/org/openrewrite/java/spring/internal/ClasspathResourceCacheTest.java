@@ -0,0 +1,124 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.spring.SpringExecutionContextView;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClasspathResourceCacheTest {
+
+    @Test
+    void extractsOnceIntoCacheDirectory(@TempDir Path cacheDirectory) {
+        SpringExecutionContextView ctx = SpringExecutionContextView.view(new InMemoryExecutionContext(t -> {
+            throw new AssertionError(t);
+        })).setClasspathCacheDirectory(cacheDirectory);
+
+        List<Path> classpath = ClasspathResourceCache.dependenciesFromResources(ctx, "spring-core-5.*");
+        assertThat(classpath).hasSize(1);
+        assertThat(classpath.get(0)).startsWith(cacheDirectory).isRegularFile();
+        assertThat(classpath.get(0).getFileName().toString()).startsWith("spring-core-5.");
+
+        assertThat(ClasspathResourceCache.dependenciesFromResources(ctx, "spring-core-5.*")).isEqualTo(classpath);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed(@TempDir Path cacheDirectory) {
+        SpringExecutionContextView ctx = SpringExecutionContextView.view(new InMemoryExecutionContext())
+                .setClasspathCacheDirectory(cacheDirectory)
+                .setClasspathCacheMaxSize(1);
+
+        Path springCore = ClasspathResourceCache.dependenciesFromResources(ctx, "spring-core-5.*").get(0);
+        unusedFor(springCore.getParent(), ClasspathResourceCache.MIN_ENTRY_AGE.plusMinutes(1));
+        Path springBeans = ClasspathResourceCache.dependenciesFromResources(ctx, "spring-beans-5.*").get(0);
+
+        assertThat(springBeans).isRegularFile();
+        assertThat(Files.exists(springCore)).isFalse();
+    }
+
+    @Test
+    void keepsRecentlyUsedEntries(@TempDir Path cacheDirectory) {
+        SpringExecutionContextView ctx = SpringExecutionContextView.view(new InMemoryExecutionContext())
+                .setClasspathCacheDirectory(cacheDirectory)
+                .setClasspathCacheMaxSize(1);
+
+        Path springCore = ClasspathResourceCache.dependenciesFromResources(ctx, "spring-core-5.*").get(0);
+        Path springBeans = ClasspathResourceCache.dependenciesFromResources(ctx, "spring-beans-5.*").get(0);
+
+        assertThat(springBeans).isRegularFile();
+        assertThat(springCore).isRegularFile();
+    }
+
+    @Test
+    void keepsEntriesBeingPopulatedByAnotherProcess(@TempDir Path cacheDirectory) throws IOException {
+        SpringExecutionContextView ctx = SpringExecutionContextView.view(new InMemoryExecutionContext())
+                .setClasspathCacheDirectory(cacheDirectory)
+                .setClasspathCacheMaxSize(1);
+
+        Path springCore = ClasspathResourceCache.dependenciesFromResources(ctx, "spring-core-5.*").get(0);
+        Path inFlight = Files.createTempFile(springCore.getParent(), "spring-core", ".tmp");
+        unusedFor(springCore.getParent(), ClasspathResourceCache.MIN_ENTRY_AGE.plusMinutes(1));
+        ClasspathResourceCache.dependenciesFromResources(ctx, "spring-beans-5.*");
+
+        assertThat(springCore).isRegularFile();
+        assertThat(inFlight).isRegularFile();
+    }
+
+    @Test
+    void keepsJarsOfPooledParsers(@TempDir Path cacheDirectory) {
+        SpringExecutionContextView ctx = SpringExecutionContextView.view(new InMemoryExecutionContext())
+                .setClasspathCacheDirectory(cacheDirectory)
+                .setClasspathCacheMaxSize(1);
+
+        JavaParserPool.fromResources(ctx, "spring-web-4.*");
+        Path springWeb = ClasspathResourceCache.dependenciesFromResources(ctx, "spring-web-4.*").get(0);
+        Path springDataCommons = ClasspathResourceCache.dependenciesFromResources(ctx, "spring-data-commons-2.*").get(0);
+
+        assertThat(springDataCommons).isRegularFile();
+        assertThat(springWeb).isRegularFile();
+    }
+
+    @Test
+    void retainsJarsUntilEveryParserReleasesThem(@TempDir Path cacheDirectory) {
+        List<Path> classpath = List.of(cacheDirectory.resolve("spring-core.jar"));
+        ClasspathResourceCache.retain(classpath);
+        ClasspathResourceCache.retain(classpath);
+
+        ClasspathResourceCache.release(classpath);
+        assertThat(ClasspathResourceCache.isRetained(classpath.get(0))).isTrue();
+        ClasspathResourceCache.release(classpath);
+        assertThat(ClasspathResourceCache.isRetained(classpath.get(0))).isFalse();
+    }
+
+    private static void unusedFor(Path entry, Duration age) {
+        try {
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis() - age.toMillis()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
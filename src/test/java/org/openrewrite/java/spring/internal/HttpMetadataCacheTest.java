@@ -0,0 +1,127 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HttpMetadataCacheTest {
+    private static final byte[] LISTING = "<a href=\"2.7.8/\">2.7.8/</a>".getBytes(StandardCharsets.UTF_8);
+
+    private final List<String> requests = new ArrayList<>();
+    private volatile boolean failing;
+    private volatile boolean truncating;
+    private HttpServer server;
+    private String url;
+
+    @BeforeEach
+    void startRepository() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/listing", exchange -> {
+            String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+            synchronized (requests) {
+                requests.add(ifNoneMatch == null ? "GET" : "GET If-None-Match " + ifNoneMatch);
+            }
+            exchange.getResponseHeaders().add("ETag", "\"v1\"");
+            if (failing) {
+                exchange.sendResponseHeaders(503, -1);
+            } else if (truncating) {
+                exchange.sendResponseHeaders(200, LISTING.length * 2L);
+                exchange.getResponseBody().write(LISTING, 0, LISTING.length / 2);
+            } else if ("\"v1\"".equals(ifNoneMatch)) {
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                exchange.sendResponseHeaders(200, LISTING.length);
+                try (OutputStream body = exchange.getResponseBody()) {
+                    body.write(LISTING);
+                }
+            }
+            exchange.close();
+        });
+        server.start();
+        url = "http://localhost:" + server.getAddress().getPort() + "/listing";
+    }
+
+    @AfterEach
+    void stopRepository() {
+        server.stop(0);
+    }
+
+    @Test
+    void servesFromDiskWithinTimeToLive(@TempDir Path cacheDirectory) throws IOException {
+        assertThat(new HttpMetadataCache(cacheDirectory, Duration.ofDays(1)).get(url)).isEqualTo(LISTING);
+        assertThat(new HttpMetadataCache(cacheDirectory, Duration.ofDays(1)).get(url)).isEqualTo(LISTING);
+        assertThat(requests).containsExactly("GET");
+    }
+
+    @Test
+    void revalidatesAfterTimeToLive(@TempDir Path cacheDirectory) throws IOException {
+        assertThat(new HttpMetadataCache(cacheDirectory, Duration.ZERO).get(url)).isEqualTo(LISTING);
+        assertThat(new HttpMetadataCache(cacheDirectory, Duration.ZERO).get(url)).isEqualTo(LISTING);
+        assertThat(requests).containsExactly("GET", "GET If-None-Match \"v1\"");
+    }
+
+    @Test
+    void servesStaleDocumentOffline(@TempDir Path cacheDirectory) throws IOException {
+        assertThat(new HttpMetadataCache(cacheDirectory, Duration.ZERO).get(url)).isEqualTo(LISTING);
+        server.stop(0);
+        assertThat(new HttpMetadataCache(cacheDirectory, Duration.ZERO).get(url)).isEqualTo(LISTING);
+    }
+
+    @Test
+    void servesStaleDocumentWhenRepositoryFails(@TempDir Path cacheDirectory) throws IOException {
+        assertThat(new HttpMetadataCache(cacheDirectory, Duration.ZERO).get(url)).isEqualTo(LISTING);
+        failing = true;
+        assertThat(new HttpMetadataCache(cacheDirectory, Duration.ZERO).get(url)).isEqualTo(LISTING);
+    }
+
+    @Test
+    void servesStaleDocumentWhenResponseIsTruncated(@TempDir Path cacheDirectory) throws IOException {
+        assertThat(new HttpMetadataCache(cacheDirectory, Duration.ZERO).get(url)).isEqualTo(LISTING);
+        truncating = true;
+        assertThat(new HttpMetadataCache(cacheDirectory, Duration.ZERO).get(url)).isEqualTo(LISTING);
+    }
+
+    @Test
+    void treatsCorruptEntryAsStale(@TempDir Path cacheDirectory) throws IOException {
+        assertThat(new HttpMetadataCache(cacheDirectory, Duration.ofDays(1)).get(url)).isEqualTo(LISTING);
+        Files.writeString(validators(cacheDirectory), "fetched=yesterday\n");
+        assertThat(new HttpMetadataCache(cacheDirectory, Duration.ofDays(1)).get(url)).isEqualTo(LISTING);
+        assertThat(requests).containsExactly("GET", "GET");
+    }
+
+    private static Path validators(Path cacheDirectory) throws IOException {
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".properties")).findFirst().orElseThrow();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JavaParserPoolTest {
+    private final ExecutionContext ctx = new InMemoryExecutionContext();
+
+    @Test
+    void reusesParserForSameArtifactsInAnyOrder() {
+        JavaParser parser = JavaParserPool.fromResources(ctx, "spring-core-5.*", "spring-beans-5.*");
+        assertThat(JavaParserPool.fromResources(ctx, "spring-beans-5.*", "spring-core-5.*")).isSameAs(parser);
+        assertThat(JavaParserPool.fromResources(ctx, "spring-core-5.*")).isNotSameAs(parser);
+    }
+
+    @Test
+    void parserIsNotSharedBetweenThreads() {
+        JavaParser parser = JavaParserPool.fromResources(ctx, "spring-core-5.*");
+        JavaParser otherThreadParser = CompletableFuture.supplyAsync(() -> JavaParserPool.fromResources(ctx, "spring-core-5.*")).join();
+        assertThat(otherThreadParser).isNotSameAs(parser);
+    }
+
+    @Test
+    void parsesWithBundledClasspath() {
+        JavaParser parser = JavaParserPool.fromResources(ctx, "spring-core-5.*");
+        assertThat(parser.parse(ctx, "class A { org.springframework.core.io.Resource r; }")).hasSize(1);
+        assertThat(JavaParserPool.fromResources(ctx, "spring-core-5.*").parse(ctx, "class B {}")).hasSize(1);
+    }
+
+    @Test
+    void dropsLeastRecentlyUsedParser() {
+        JavaParser parser = JavaParserPool.fromResources(ctx, "spring-core-5.*");
+        String[] others = {"spring-beans-5.*", "spring-context-5.*", "spring-web-5.*", "spring-boot-2.*",
+                "spring-boot-test-2.*", "spring-boot-autoconfigure-2.*", "spring-boot-actuator-2.7.*", "spring-data-commons-2.*"};
+        for (int i = 0; i < JavaParserPool.MAX_PARSERS; i++) {
+            JavaParserPool.fromResources(ctx, others[i]);
+        }
+        assertThat(JavaParserPool.fromResources(ctx, "spring-core-5.*")).isNotSameAs(parser);
+    }
+}
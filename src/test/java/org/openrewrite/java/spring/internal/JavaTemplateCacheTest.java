@@ -0,0 +1,58 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JavaTemplateCacheTest {
+    private static final List<String> BEAN_IMPORTS = Collections.singletonList("org.springframework.context.annotation.Bean");
+
+    private final ExecutionContext ctx = new InMemoryExecutionContext();
+
+    @Test
+    void annotationIsTypeAttributed() {
+        J.Annotation bean = JavaTemplateCache.annotation(ctx, JavaTemplateCache.Target.METHOD, "@Bean", BEAN_IMPORTS, "spring-context-5.*");
+        assertThat(bean.getSimpleName()).isEqualTo("Bean");
+        assertThat(TypeUtils.isOfClassType(bean.getType(), "org.springframework.context.annotation.Bean")).isTrue();
+        assertThat(bean.getPrefix().getWhitespace()).isEmpty();
+    }
+
+    @Test
+    void everyAnnotationHasFreshIds() {
+        J.Annotation first = JavaTemplateCache.annotation(ctx, JavaTemplateCache.Target.METHOD, "@Bean", BEAN_IMPORTS, "spring-context-5.*");
+        J.Annotation second = JavaTemplateCache.annotation(ctx, JavaTemplateCache.Target.METHOD, "@Bean", BEAN_IMPORTS, "spring-context-5.*");
+        assertThat(second.getId()).isNotEqualTo(first.getId());
+        assertThat(second.getAnnotationType().getId()).isNotEqualTo(first.getAnnotationType().getId());
+        assertThat(second.getType()).isSameAs(first.getType());
+    }
+
+    @Test
+    void annotationWithArguments() {
+        J.Annotation configuration = JavaTemplateCache.annotation(ctx, JavaTemplateCache.Target.CLASS, "@Configuration(proxyBeanMethods = false)",
+                Collections.singletonList("org.springframework.context.annotation.Configuration"), "spring-context-5.*");
+        assertThat(configuration.getArguments()).hasSize(1);
+        assertThat(TypeUtils.isOfClassType(configuration.getType(), "org.springframework.context.annotation.Configuration")).isTrue();
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ManagedVersionsCacheTest {
+
+    @Test
+    void readsWhatWasWritten(@TempDir Path cacheDirectory) throws IOException {
+        assertThat(ManagedVersionsCache.read(cacheDirectory, "spring-boot-dependencies", "3.0.2")).isNull();
+
+        Map<String, String> managedVersions = Map.of(
+          "org.springframework.boot:spring-boot-starter-web", "3.0.2",
+          "io.dropwizard.metrics:metrics-annotation", "4.2.15");
+        ManagedVersionsCache.write(cacheDirectory, "spring-boot-dependencies", "3.0.2", managedVersions);
+
+        assertThat(cacheDirectory.resolve("spring-boot-dependencies-3.0.2.tsv")).isRegularFile();
+        assertThat(ManagedVersionsCache.read(cacheDirectory, "spring-boot-dependencies", "3.0.2")).isEqualTo(managedVersions);
+        assertThat(ManagedVersionsCache.read(cacheDirectory, "spring-boot-dependencies", "3.0.1")).isNull();
+    }
+
+    @Test
+    void neverCachesChangingVersions(@TempDir Path cacheDirectory) throws IOException {
+        for (String version : new String[]{"3.1.0-SNAPSHOT", "latest.release", "3.0.+", "../3.0.2"}) {
+            ManagedVersionsCache.write(cacheDirectory, "spring-boot-dependencies", version, Map.of("g:a", "1.0"));
+            assertThat(ManagedVersionsCache.read(cacheDirectory, "spring-boot-dependencies", version)).isNull();
+        }
+        assertThat(cacheDirectory).isEmptyDirectory();
+    }
+
+    @Test
+    void bundledTables(@TempDir Path tables) throws IOException {
+        assertThat(ManagedVersionsCache.readBundled("spring-boot-dependencies", "0.0.1"))
+          .containsExactly(Map.entry("org.springframework.boot:spring-boot-starter-web", "0.0.1"));
+        assertThat(ManagedVersionsCache.readBundled("spring-boot-dependencies", "0.0.2")).isNull();
+
+        ManagedVersionsCache.writeBundled(tables, "spring-boot-dependencies", "0.0.2", Map.of("g:a", "1.0"));
+        assertThat(tables.resolve("spring-boot-dependencies-0.0.2.tsv.gz")).isRegularFile();
+    }
+}
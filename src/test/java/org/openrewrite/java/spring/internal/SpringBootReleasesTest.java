@@ -15,11 +15,54 @@
  */
 package org.openrewrite.java.spring.internal;
 
+import com.sun.net.httpserver.HttpServer;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.java.spring.SpringRepositories;
 
+import javax.xml.stream.XMLStreamException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class SpringBootReleasesTest {
+    private static final byte[] METADATA = """
+      <?xml version="1.0" encoding="UTF-8"?>
+      <metadata>
+        <groupId>org.springframework.boot</groupId>
+        <artifactId>spring-boot-starter-parent</artifactId>
+        <versioning>
+          <latest>3.0.0-RC1</latest>
+          <release>2.7.8</release>
+          <versions>
+            <version>2.0.0.M1</version>
+            <version>2.1.9.RELEASE</version>
+            <version>2.1.10.RELEASE</version>
+            <version>2.7.8</version>
+            <version>3.0.0-M5</version>
+            <version>3.0.0-RC1</version>
+          </versions>
+          <lastUpdated>20230119000000</lastUpdated>
+        </versioning>
+      </metadata>
+      """.getBytes(StandardCharsets.UTF_8);
 
     @Test
     void latestAvailableVersion() {
@@ -35,4 +78,221 @@ class SpringBootReleasesTest {
         var releases = new SpringBootReleases(true);
         assertThat(releases.latestPatchReleases()).isNotEmpty();
     }
+
+    @Test
+    void parsesMavenMetadata() throws XMLStreamException {
+        assertThat(SpringBootReleases.parseVersions(new ByteArrayInputStream(METADATA)))
+          .containsExactly("2.0.0.M1", "2.1.9.RELEASE", "2.1.10.RELEASE", "2.7.8", "3.0.0-M5", "3.0.0-RC1");
+    }
+
+    @Test
+    void releasesFromMavenMetadata(@TempDir Path tempDir) throws IOException {
+        HttpServer repository = repository(0, false);
+        try {
+            var releases = releases(repository, tempDir);
+            assertThat(releases.allReleases()).containsExactly("2.1.9.RELEASE", "2.1.10.RELEASE", "2.7.8");
+            assertThat(releases.latestMatchingVersion("2.1.+")).isEqualTo("2.1.10.RELEASE");
+            assertThat(releases.latestMatchingVersion("2.+")).isEqualTo("2.7.8");
+            assertThat(releases.latestMatchingVersion("2.2.+")).isNull();
+            assertThat(releases.latestMatchingVersion("3.+")).isNull();
+            assertThat(releases.latestPatchReleases()).containsExactly("2.1.10.RELEASE", "2.7.8");
+        } finally {
+            repository.stop(0);
+        }
+    }
+
+    @Test
+    void releaseCandidatesFromMavenMetadata(@TempDir Path tempDir) throws IOException {
+        HttpServer repository = repository(0, false);
+        try {
+            var releases = new SpringBootReleases(true, repositories(repository), tempDir, Duration.ofDays(1));
+            assertThat(releases.allReleases()).containsExactly("2.1.9.RELEASE", "2.1.10.RELEASE", "2.7.8", "3.0.0-RC1");
+            assertThat(releases.latestMatchingVersion("3.0.+")).isEqualTo("3.0.0-RC1");
+        } finally {
+            repository.stop(0);
+        }
+    }
+
+    @Test
+    void offlineFromCache(@TempDir Path tempDir) throws IOException {
+        HttpServer repository = repository(0, false);
+        try {
+            assertThat(new SpringBootReleases(false, repositories(repository), tempDir, Duration.ZERO).allReleases()).hasSize(3);
+        } finally {
+            repository.stop(0);
+        }
+
+        var offline = repositories(repository).withOffline(true);
+        assertThat(new SpringBootReleases(false, offline, tempDir, Duration.ZERO).latestMatchingVersion("2.+")).isEqualTo("2.7.8");
+        assertThatThrownBy(() -> new SpringBootReleases(false, offline, tempDir.resolve("empty"), Duration.ZERO).allReleases())
+          .isInstanceOf(UncheckedIOException.class)
+          .hasMessageContaining("offline");
+    }
+
+    @Test
+    void localRepository(@TempDir Path tempDir) throws IOException {
+        Path boot = tempDir.resolve("repository/org/springframework/boot");
+        Files.createDirectories(boot.resolve("spring-boot-starter-parent"));
+        Files.write(boot.resolve("spring-boot-starter-parent/maven-metadata.xml"), METADATA);
+        Path jar = boot.resolve("spring-boot/2.7.8/spring-boot-2.7.8.jar");
+        Files.createDirectories(jar.getParent());
+        Files.writeString(jar, "spring-boot");
+        Files.writeString(jar.resolveSibling("spring-boot-2.7.8.jar.sha1"), sha1("spring-boot") + "  spring-boot-2.7.8.jar");
+
+        var local = SpringRepositories.DEFAULT
+          .withMirror("*", tempDir.resolve("repository").toUri().toString())
+          .withOffline(true);
+        var releases = new SpringBootReleases(false, local, tempDir.resolve("cache"), Duration.ofDays(1));
+        assertThat(releases.latestMatchingVersion("2.1.+")).isEqualTo("2.1.10.RELEASE");
+
+        var modules = releases.download("2.7.8", tempDir.resolve("modules"), 2);
+        assertThat(modules.stream().map(SpringBootReleases.ModuleFile::getModuleName).collect(toList()))
+          .containsExactly("spring-boot");
+        assertThat(modules.get(0).getPath()).hasContent("spring-boot");
+    }
+
+    @Test
+    void downloadsModulesConcurrentlyInModuleOrder(@TempDir Path tempDir) throws IOException {
+        var peakInFlight = new AtomicInteger();
+        HttpServer repository = repository(0, false, peakInFlight);
+        try {
+            var releases = releases(repository, tempDir.resolve("cache"));
+
+            var sequential = releases.download("2.7.8").map(SpringBootReleases.ModuleDownload::getModuleName).collect(toList());
+            assertThat(peakInFlight).hasValue(1);
+
+            peakInFlight.set(0);
+            var concurrent = releases.download("2.7.8", tempDir.resolve("modules"), 4);
+
+            assertThat(concurrent.stream().map(SpringBootReleases.ModuleFile::getModuleName).collect(toList()))
+              .isEqualTo(sequential)
+              .isSorted()
+              .hasSize(8);
+            assertThat(peakInFlight.get()).isBetween(2, 4);
+        } finally {
+            repository.stop(0);
+        }
+    }
+
+    @Test
+    void streamsVerifiedModulesToDisk(@TempDir Path tempDir) throws IOException {
+        HttpServer repository = repository(0, false);
+        try {
+            var modules = releases(repository, tempDir.resolve("cache")).download("2.7.8", tempDir.resolve("modules"), 4);
+            assertThat(modules).hasSize(8);
+            var first = modules.get(0);
+            assertThat(first.getPath()).isEqualTo(tempDir.resolve("modules").resolve("spring-boot-module-0-2.7.8.jar"));
+            assertThat(Files.readString(first.getPath()))
+              .isEqualTo("/org/springframework/boot/spring-boot-module-0/2.7.8/spring-boot-module-0-2.7.8.jar");
+            try (var files = Files.list(tempDir.resolve("modules"))) {
+                assertThat(files).hasSize(8).allMatch(f -> f.toString().endsWith(".jar"));
+            }
+        } finally {
+            repository.stop(0);
+        }
+    }
+
+    @Test
+    void rejectsModulesNotMatchingTheirChecksum(@TempDir Path tempDir) throws IOException {
+        HttpServer repository = repository(0, true);
+        try {
+            var releases = releases(repository, tempDir.resolve("cache"));
+            assertThatThrownBy(() -> releases.download("2.7.8", tempDir.resolve("modules"), 8))
+              .isInstanceOf(UncheckedIOException.class)
+              .hasMessageContaining("doesn't match the published checksum");
+            try (var files = Files.list(tempDir.resolve("modules"))) {
+                assertThat(files).isEmpty();
+            }
+        } finally {
+            repository.stop(0);
+        }
+    }
+
+    @Test
+    void retriesServerErrors(@TempDir Path tempDir) throws IOException {
+        HttpServer repository = repository(1, false);
+        try {
+            assertThat(releases(repository, tempDir.resolve("cache")).download("2.7.8", tempDir.resolve("modules"), 4)).hasSize(8);
+        } finally {
+            repository.stop(0);
+        }
+    }
+
+    private static SpringBootReleases releases(HttpServer repository, Path cacheDirectory) {
+        return new SpringBootReleases(false, repositories(repository), cacheDirectory, Duration.ofDays(1));
+    }
+
+    private static SpringRepositories repositories(HttpServer repository) {
+        String url = "http://localhost:" + repository.getAddress().getPort();
+        return SpringRepositories.DEFAULT
+          .withMirror("https://repo1.maven.org/maven2", url)
+          .withMirror("https://repo.spring.io/milestone", url);
+    }
+
+    /**
+     * @param failuresPerModule The number of times each module responds with a server error before it is served.
+     * @param corruptChecksums  Whether the published checksums of the modules are wrong.
+     * @return A repository of eight modules, each of which takes 100ms to serve, and whose content is its path.
+     */
+    private static HttpServer repository(int failuresPerModule, boolean corruptChecksums) throws IOException {
+        return repository(failuresPerModule, corruptChecksums, new AtomicInteger());
+    }
+
+    /**
+     * @param peakInFlight Updated with the highest number of modules served at the same time.
+     */
+    private static HttpServer repository(int failuresPerModule, boolean corruptChecksums, AtomicInteger peakInFlight) throws IOException {
+        HttpServer repository = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        repository.setExecutor(Executors.newCachedThreadPool());
+        var modules = IntStream.range(0, 8).mapToObj(i -> "spring-boot-module-" + i).collect(toList());
+        var attempts = new ConcurrentHashMap<String, AtomicInteger>();
+        var inFlight = new AtomicInteger();
+        repository.createContext("/org/springframework/boot", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            byte[] body;
+            if (path.equals("/org/springframework/boot")) {
+                body = modules.stream()
+                  .map(module -> "<a href=\"" + module + "/\">" + module + "/</a>")
+                  .collect(Collectors.joining("\n"))
+                  .getBytes(StandardCharsets.UTF_8);
+            } else if (path.endsWith("/maven-metadata.xml")) {
+                body = METADATA;
+            } else if (path.endsWith(".sha1")) {
+                body = (corruptChecksums ? "0000000000000000000000000000000000000000" : sha1(path.substring(0, path.length() - 5)))
+                  .getBytes(StandardCharsets.UTF_8);
+            } else if (attempts.computeIfAbsent(path, p -> new AtomicInteger()).incrementAndGet() <= failuresPerModule) {
+                exchange.sendResponseHeaders(503, -1);
+                exchange.close();
+                return;
+            } else {
+                peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+                body = path.getBytes(StandardCharsets.UTF_8);
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        repository.start();
+        return repository;
+    }
+
+    private static String sha1(String content) {
+        try {
+            var hex = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-1").digest(content.getBytes(StandardCharsets.UTF_8))) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
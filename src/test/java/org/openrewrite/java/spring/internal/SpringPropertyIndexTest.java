@@ -0,0 +1,76 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.properties.PropertiesParser;
+import org.openrewrite.properties.tree.Properties;
+import org.openrewrite.yaml.YamlParser;
+import org.openrewrite.yaml.tree.Yaml;
+
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpringPropertyIndexTest {
+
+    @Test
+    void findsPropertiesInAnyRelaxedForm() {
+        Properties.File properties = new PropertiesParser().parse(
+          "spring.main.show-banner=false\nserver.port=8080\n").get(0);
+
+        assertThat(SpringPropertyIndex.find(properties, "spring.main.showBanner"))
+          .singleElement()
+          .extracting(entry -> entry.getValue().getText()).isEqualTo("false");
+        assertThat(SpringPropertyIndex.find(properties, "SPRING_MAIN_SHOW_BANNER")).hasSize(1);
+        assertThat(SpringPropertyIndex.find(properties, "server.address")).isEmpty();
+    }
+
+    @Test
+    void findsNestedYamlProperties() {
+        Yaml.Documents yaml = new YamlParser().parse(
+          "spring:\n  main:\n    show_banner: false\nserver.port: 8080\n").get(0);
+
+        assertThat(SpringPropertyIndex.find(yaml, "spring.main.show-banner")).hasSize(1);
+        assertThat(SpringPropertyIndex.find(yaml, "server.port"))
+          .singleElement()
+          .extracting(block -> ((Yaml.Scalar) block).getValue()).isEqualTo("8080");
+        assertThat(SpringPropertyIndex.find(yaml, "spring.main")).hasSize(1);
+    }
+
+    @Test
+    void globsMatchLikeFindProperties() {
+        Properties.File properties = new PropertiesParser().parse(
+          "management.metrics.enable.jvm=true\nmanagement.metrics.enable.process=false\n").get(0);
+
+        assertThat(SpringPropertyIndex.find(properties, "management.metrics.enable.*")).hasSize(2);
+    }
+
+    @Test
+    void changedFileIsIndexedAgain() {
+        Properties.File properties = new PropertiesParser().parse("server.port=8080\n").get(0);
+        assertThat(SpringPropertyIndex.find(properties, "server.port")).hasSize(1);
+
+        // the same id, but a new tree instance
+        var content = new ArrayList<>(properties.getContent());
+        content.add(new PropertiesParser().parse("server.address=localhost\n").get(0).getContent().get(0));
+        Properties.File changed = properties.withContent(content);
+
+        assertThat(changed.getId()).isEqualTo(properties.getId());
+        assertThat(SpringPropertyIndex.find(changed, "server.address")).hasSize(1);
+        assertThat(SpringPropertyIndex.find(properties, "server.address")).isEmpty();
+    }
+}
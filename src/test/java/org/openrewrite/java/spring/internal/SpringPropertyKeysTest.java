@@ -0,0 +1,58 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.internal;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpringPropertyKeysTest {
+
+    @Test
+    void canonicalFormIgnoresCaseAndSeparators() {
+        assertThat(SpringPropertyKeys.canonical("spring.main.show-banner")).isEqualTo("spring.main.showbanner");
+        assertThat(SpringPropertyKeys.canonical("spring.main.showBanner")).isEqualTo("spring.main.showbanner");
+        assertThat(SpringPropertyKeys.canonical("SPRING_MAIN_SHOW_BANNER")).isEqualTo("springmainshowbanner");
+    }
+
+    @Test
+    void kebabCase() {
+        assertThat(SpringPropertyKeys.kebabCase("spring.main.showBanner")).isEqualTo("spring.main.show-banner");
+        assertThat(SpringPropertyKeys.kebabCase("spring.main.show_banner")).isEqualTo("spring.main.show-banner");
+    }
+
+    @Test
+    void memoizesConversions() {
+        String canonical = SpringPropertyKeys.canonical("server.servlet.contextPath");
+        assertThat(SpringPropertyKeys.CANONICAL).containsEntry("server.servlet.contextPath", canonical);
+        assertThat(SpringPropertyKeys.canonical("server.servlet.contextPath")).isSameAs(canonical);
+    }
+
+    @Test
+    void clearsCacheWhenFull() {
+        SpringPropertyKeys.CANONICAL.clear();
+        for (int i = 0; i < SpringPropertyKeys.MAX_CACHED_KEYS; i++) {
+            SpringPropertyKeys.canonical("test.fill-" + i);
+        }
+        assertThat(SpringPropertyKeys.CANONICAL).hasSize(SpringPropertyKeys.MAX_CACHED_KEYS);
+
+        assertThat(SpringPropertyKeys.canonical("test.one-more")).isEqualTo("test.onemore");
+        assertThat(SpringPropertyKeys.CANONICAL)
+          .hasSize(1)
+          .containsEntry("test.one-more", "test.onemore");
+        assertThat(SpringPropertyKeys.canonical("test.fill-0")).isEqualTo("test.fill0");
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.search;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.config.Environment;
+import org.openrewrite.config.YamlResourceLoader;
+import org.openrewrite.java.spring.SpringConfigurationFile;
+import org.openrewrite.java.spring.SpringExecutionContextView;
+import org.openrewrite.java.spring.SpringProjectFingerprint;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.openrewrite.properties.Assertions.properties;
+
+class HasSpringProjectFeatureTest implements RewriteTest {
+
+    //language=yaml
+    private static final String RECIPES = """
+      type: specs.openrewrite.org/v1beta/recipe
+      name: org.openrewrite.test.MigrateBatch
+      recipeList:
+        - org.openrewrite.java.spring.search.FingerprintSpringProject
+        - org.openrewrite.test.ChangeBatchProperties
+      ---
+      type: specs.openrewrite.org/v1beta/recipe
+      name: org.openrewrite.test.ChangeBatchProperties
+      applicability:
+        anySource:
+          - org.openrewrite.java.spring.search.HasSpringProjectFeature:
+              configurationFiles: true
+      recipeList:
+        - org.openrewrite.properties.ChangePropertyKey:
+            oldPropertyKey: spring.batch.initialize-schema
+            newPropertyKey: spring.batch.jdbc.initialize-schema
+      """;
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec.recipe(recipe("org.openrewrite.test.MigrateBatch"));
+    }
+
+    @Test
+    void skipsSubRecipeWhenModuleLacksConfigurationFiles() {
+        rewriteRun(
+          properties(
+            """
+              spring.batch.initialize-schema=always
+              """,
+            spec -> spec.path("src/main/resources/messages.properties")
+          )
+        );
+    }
+
+    @Test
+    void appliesSubRecipeWhenModuleHasConfigurationFiles() {
+        rewriteRun(
+          properties(
+            """
+              spring.batch.initialize-schema=always
+              """,
+            """
+              spring.batch.jdbc.initialize-schema=always
+              """,
+            spec -> spec.path("src/main/resources/application.properties")
+          )
+        );
+    }
+
+    @Test
+    void ignoresFingerprintOfOtherSourceFiles() {
+        var ctx = new InMemoryExecutionContext();
+        SpringExecutionContextView.view(ctx).setProjectFingerprints(List.of(new SpringProjectFingerprint(
+          EnumSet.noneOf(SpringConfigurationFile.Kind.class), Set.of(UUID.randomUUID()))));
+        rewriteRun(
+          spec -> spec.recipe(recipe("org.openrewrite.test.ChangeBatchProperties")).executionContext(ctx),
+          properties(
+            """
+              spring.batch.initialize-schema=always
+              """,
+            """
+              spring.batch.jdbc.initialize-schema=always
+              """,
+            spec -> spec.path("src/main/resources/messages.properties")
+          )
+        );
+    }
+
+    private static Recipe recipe(String name) {
+        return Environment.builder()
+          .load(new YamlResourceLoader(new ByteArrayInputStream(RECIPES.getBytes(StandardCharsets.UTF_8)),
+            URI.create("rewrite.yml"), new Properties()))
+          .build()
+          .activateRecipes(name);
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.java.spring.search;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.test.RewriteTest;
+
+import static org.openrewrite.java.Assertions.java;
+import static org.openrewrite.test.RewriteTest.toRecipe;
+
+class UsesAnyTypeTest implements RewriteTest {
+
+    @Test
+    void usesAnyOfTheTypes() {
+        rewriteRun(
+          spec -> spec.recipe(toRecipe(() -> new UsesAnyType<>("java.util.Set", "java.util.List"))),
+          java(
+            """
+              import java.util.List;
+              class A {
+                  List<String> names;
+              }
+              """,
+            """
+              /*~~>*/import java.util.List;
+              class A {
+                  List<String> names;
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void usesFullyQualifiedTypeWithoutImport() {
+        rewriteRun(
+          spec -> spec.recipe(toRecipe(() -> new UsesAnyType<>("java.util.concurrent.*"))),
+          java(
+            """
+              class A {
+                  java.util.concurrent.ConcurrentMap<String, String> names;
+              }
+              """,
+            """
+              /*~~>*/class A {
+                  java.util.concurrent.ConcurrentMap<String, String> names;
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void usesNoneOfTheTypes() {
+        rewriteRun(
+          spec -> spec.recipe(toRecipe(() -> new UsesAnyType<>("java.util.Set", "java.util.Map"))),
+          java(
+            """
+              import java.util.List;
+              class A {
+                  List<String> names;
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void usesTypeOnlyThroughStaticMethod() {
+        rewriteRun(
+          spec -> spec.recipe(toRecipe(() -> new UsesAnyType<>("java.util.Collections"))),
+          java(
+            """
+              import static java.util.Collections.emptyList;
+              class A {
+                  Object names = emptyList();
+              }
+              """,
+            """
+              /*~~>*/import static java.util.Collections.emptyList;
+              class A {
+                  Object names = emptyList();
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void usesTypeOnlyThroughStaticConstant() {
+        rewriteRun(
+          spec -> spec.recipe(toRecipe(() -> new UsesAnyType<>("java.lang.Math"))),
+          java(
+            """
+              import static java.lang.Math.PI;
+              class A {
+                  double circle = 2 * PI;
+              }
+              """,
+            """
+              /*~~>*/import static java.lang.Math.PI;
+              class A {
+                  double circle = 2 * PI;
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void usesTypeOnlyThroughStaticStarImport() {
+        rewriteRun(
+          spec -> spec.recipe(toRecipe(() -> new UsesAnyType<>("java.lang.Math"))),
+          java(
+            """
+              import static java.lang.Math.*;
+              class A {
+                  double circle = 2 * PI;
+              }
+              """,
+            """
+              /*~~>*/import static java.lang.Math.*;
+              class A {
+                  double circle = 2 * PI;
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void declaringTypeOfInstanceMethodIsNotUsed() {
+        rewriteRun(
+          spec -> spec.recipe(toRecipe(() -> new UsesAnyType<>("java.lang.Object"))),
+          java(
+            """
+              class A {
+                  boolean same(A a) {
+                      return equals(a);
+                  }
+              }
+              """
+          )
+        );
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2021 - 2022 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.maven.spring;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.java.spring.SpringRepositories;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ManagedVersionResolutionsTest {
+    private static final ManagedVersionResolutions.Key KEY = new ManagedVersionResolutions.Key("2.7.0",
+      SpringRepositories.DEFAULT, Paths.get("cache"));
+
+    private final AtomicLong now = new AtomicLong(1_000);
+    private final ManagedVersionResolutions resolutions = new ManagedVersionResolutions(now::get, 100);
+
+    @Test
+    void resolvesOnceForConcurrentCallers() throws Exception {
+        var resolved = new AtomicInteger();
+        var resolving = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var executor = Executors.newFixedThreadPool(8);
+        try {
+            var results = new ArrayList<Future<Map<String, String>>>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> resolutions.get(KEY, () -> {
+                    resolved.incrementAndGet();
+                    resolving.countDown();
+                    assertThat(release.await(10, TimeUnit.SECONDS)).isTrue();
+                    return Map.of("org.springframework:spring-core", "5.3.20");
+                })));
+            }
+            assertThat(resolving.await(10, TimeUnit.SECONDS)).isTrue();
+            release.countDown();
+            for (var result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS)).containsEntry("org.springframework:spring-core", "5.3.20");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(resolved).hasValue(1);
+    }
+
+    @Test
+    void separatesRepositoryConfigurations() throws Exception {
+        var offline = new ManagedVersionResolutions.Key("2.7.0", SpringRepositories.DEFAULT.withOffline(true),
+          Paths.get("cache"));
+        assertThatThrownBy(() -> resolutions.get(offline, () -> {
+            throw new IllegalStateException("offline");
+        })).hasMessage("offline");
+        assertThat(resolutions.get(KEY, () -> Map.of("a:b", "1"))).containsEntry("a:b", "1");
+    }
+
+    @Test
+    void replaysFailureUntilRetryable() throws Exception {
+        var resolved = new AtomicInteger();
+        ManagedVersionResolutions.Resolver failing = () -> {
+            resolved.incrementAndGet();
+            throw new IllegalStateException("unreachable");
+        };
+
+        assertThatThrownBy(() -> resolutions.get(KEY, failing)).hasMessage("unreachable");
+        now.addAndGet(100);
+        assertThatThrownBy(() -> resolutions.get(KEY, () -> Map.of("a:b", "1"))).hasMessage("unreachable");
+        assertThat(resolved).hasValue(1);
+
+        now.addAndGet(1);
+        assertThat(resolutions.get(KEY, () -> Map.of("a:b", "1"))).containsEntry("a:b", "1");
+        now.addAndGet(1_000);
+        assertThat(resolutions.get(KEY, failing)).containsEntry("a:b", "1");
+        assertThat(resolved).hasValue(1);
+    }
+}
@@ -111,4 +111,24 @@ class ExpandPropertiesTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void expandManyProperties() {
+        StringBuilder before = new StringBuilder();
+        StringBuilder after = new StringBuilder();
+        for (int group = 0; group < 100; group++) {
+            after.append("group").append(group).append(":\n");
+            for (int key = 0; key < 100; key++) {
+                before.append("group").append(group).append(".key").append(key).append(": value\n");
+                after.append("  key").append(key).append(": value\n");
+            }
+        }
+        rewriteRun(
+          yaml(
+            before.toString(),
+            after.toString(),
+            spec -> spec.path("application.yml")
+          )
+        );
+    }
 }
@@ -55,4 +55,30 @@ public class RemoveEnableBatchProcessingTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void removeFirstSpringBatchAnnotation() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import org.springframework.batch.core.configuration.annotation.EnableBatchProcessing;
+              import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+              @EnableBatchProcessing
+              @SpringBootApplication
+              public class Application {
+              }
+              """,
+            """
+              import org.springframework.batch.core.configuration.annotation.EnableBatchProcessing;
+              import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+              @SpringBootApplication
+              public class Application {
+              }
+              """
+          )
+        );
+    }
 }